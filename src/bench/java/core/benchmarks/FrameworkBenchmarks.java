@@ -0,0 +1,134 @@
+package core.benchmarks;
+
+import core.utilities.BaseInformation;
+import core.utilities.BasePageObject;
+import core.utilities.ConfigurationReader;
+import core.utilities.PriceUtils;
+import core.utilities.WaitUtils;
+import core.utilities.WebElementUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Framework overhead on the hot paths, measured against StubWebDriver. Run with: mvn -Pbenchmark verify
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FrameworkBenchmarks {
+    // Simulated driver round trip; 0 isolates the framework's own cost.
+    @Param({"0", "100"})
+    public long latencyMicros;
+
+    private final By locator = By.cssSelector("span.price");
+    private String priceText = "$1,234.50";
+    private String propertyKey = "browser";
+    private StubWebDriver driver;
+    private WebElement element;
+    private WebElementUtils elementUtils;
+    private WaitUtils waitUtils;
+    private BaseInformation baseInformation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        driver = new StubWebDriver(Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(latencyMicros)), "Radiant Tee", 12);
+        element = driver.findElement(locator);
+        elementUtils = new WebElementUtils(driver, Duration.ofSeconds(5));
+        waitUtils = new WaitUtils(driver, Duration.ofSeconds(5));
+        baseInformation = BaseInformation.getBaseInformation();
+        BaseInformation.setDriver(driver);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BaseInformation.removeDriver();
+    }
+
+    @Benchmark
+    public String getTextWithoutSubElements() {
+        return elementUtils.getTextWithoutSubElements(element);
+    }
+
+    @Benchmark
+    public double parsePrice() {
+        return PriceUtils.parsePrice(priceText);
+    }
+
+    // The replace chain the pages used before PriceUtils, kept as the baseline.
+    @Benchmark
+    public double parsePriceWithReplaceChain() {
+        return Double.parseDouble(priceText.replace("$", "").replace(",", "").trim());
+    }
+
+    @Benchmark
+    public String configurationGetProperty() {
+        return ConfigurationReader.getProperty(propertyKey);
+    }
+
+    @Benchmark
+    public String configurationGetPropertyWithDefault() {
+        return ConfigurationReader.getProperty(propertyKey, "chrome");
+    }
+
+    @Benchmark
+    public WaitUtils waitUtilsConstruction() {
+        return new WaitUtils(driver, Duration.ofSeconds(5));
+    }
+
+    // Builds a WebDriverWait and polls once; the stub element is visible immediately.
+    @Benchmark
+    public WebElement waitForElementVisible() {
+        return waitUtils.waitForElementVisible(locator);
+    }
+
+    @Benchmark
+    public BasePageObject pageFactoryInit() {
+        return new BenchmarkPage(baseInformation);
+    }
+
+    // Initialization plus the first lookup through a PageFactory proxy.
+    @Benchmark
+    public String pageFactoryInitAndFirstAccess() {
+        return new BenchmarkPage(baseInformation).title.getText();
+    }
+
+    public static class BenchmarkPage extends BasePageObject {
+        @FindBy(css = "h1.page-title")
+        WebElement title;
+        @FindBy(css = "span.price")
+        WebElement price;
+        @FindBy(id = "email")
+        WebElement email;
+        @FindBy(id = "pass")
+        WebElement password;
+        @FindBy(id = "send2")
+        WebElement signIn;
+        @FindBy(css = "a.action.showcart")
+        WebElement cart;
+        @FindBy(css = "li.product-item")
+        List<WebElement> products;
+
+        public BenchmarkPage(BaseInformation baseInformation) {
+            super(baseInformation);
+        }
+    }
+}
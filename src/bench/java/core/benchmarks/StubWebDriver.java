@@ -0,0 +1,369 @@
+package core.benchmarks;
+
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.logging.LogEntries;
+import org.openqa.selenium.logging.Logs;
+
+import java.net.URL;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+public class StubWebDriver implements WebDriver, JavascriptExecutor {
+    // In-process WebDriver for benchmarks: every command waits the configured latency and answers from fixed data,
+    // so framework overhead can be measured without a browser or network.
+    private final long latencyNanos;
+    private final String elementText;
+    private final int elementCount;
+    private String currentUrl = "about:blank";
+
+    public StubWebDriver(Duration latency, String elementText, int elementCount) {
+        this.latencyNanos = latency.toNanos();
+        this.elementText = elementText;
+        this.elementCount = elementCount;
+    }
+
+    // Simulates one round trip to the driver.
+    void roundTrip() {
+        if (latencyNanos > 0) {
+            LockSupport.parkNanos(latencyNanos);
+        }
+    }
+
+    String getElementText() {
+        return elementText;
+    }
+
+    @Override
+    public void get(String url) {
+        roundTrip();
+        currentUrl = url;
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        roundTrip();
+        return currentUrl;
+    }
+
+    @Override
+    public String getTitle() {
+        roundTrip();
+        return "Stub";
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        roundTrip();
+        List<WebElement> elements = new ArrayList<>(elementCount);
+        for (int i = 0; i < elementCount; i++) {
+            elements.add(new StubWebElement(this));
+        }
+        return elements;
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        roundTrip();
+        return new StubWebElement(this);
+    }
+
+    @Override
+    public String getPageSource() {
+        roundTrip();
+        return "<html></html>";
+    }
+
+    @Override
+    public void close() {
+        roundTrip();
+    }
+
+    @Override
+    public void quit() {
+        roundTrip();
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        roundTrip();
+        return Collections.singleton("stub");
+    }
+
+    @Override
+    public String getWindowHandle() {
+        roundTrip();
+        return "stub";
+    }
+
+    // Script calls answer with the element text, which is what the own-text and read scripts extract.
+    @Override
+    public Object executeScript(String script, Object... args) {
+        roundTrip();
+        return elementText;
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        roundTrip();
+        return elementText;
+    }
+
+    // Window, frame and alert switches stay on the single stub page.
+    @Override
+    public TargetLocator switchTo() {
+        return new StubTargetLocator();
+    }
+
+    @Override
+    public Navigation navigate() {
+        return new StubNavigation();
+    }
+
+    @Override
+    public Options manage() {
+        return new StubOptions();
+    }
+
+    private final class StubOptions implements Options {
+        @Override
+        public void addCookie(Cookie cookie) {
+            roundTrip();
+        }
+
+        @Override
+        public void deleteCookieNamed(String name) {
+            roundTrip();
+        }
+
+        @Override
+        public void deleteCookie(Cookie cookie) {
+            roundTrip();
+        }
+
+        @Override
+        public void deleteAllCookies() {
+            roundTrip();
+        }
+
+        @Override
+        public Set<Cookie> getCookies() {
+            roundTrip();
+            return Collections.emptySet();
+        }
+
+        @Override
+        public Cookie getCookieNamed(String name) {
+            roundTrip();
+            return null;
+        }
+
+        @Override
+        public Timeouts timeouts() {
+            return new StubTimeouts();
+        }
+
+        @Override
+        public Window window() {
+            return new StubWindow();
+        }
+
+        // No log types, so log reads come back empty.
+        @Override
+        public Logs logs() {
+            return new Logs() {
+                @Override
+                public LogEntries get(String logType) {
+                    roundTrip();
+                    return new LogEntries(Collections.emptyList());
+                }
+
+                @Override
+                public Set<String> getAvailableLogTypes() {
+                    roundTrip();
+                    return Collections.emptySet();
+                }
+            };
+        }
+    }
+
+    private final class StubTimeouts implements Timeouts {
+        @Override
+        @SuppressWarnings("deprecation")
+        public Timeouts implicitlyWait(long time, TimeUnit unit) {
+            roundTrip();
+            return this;
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public Timeouts setScriptTimeout(long time, TimeUnit unit) {
+            roundTrip();
+            return this;
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public Timeouts pageLoadTimeout(long time, TimeUnit unit) {
+            roundTrip();
+            return this;
+        }
+    }
+
+    private final class StubWindow implements Window {
+        @Override
+        public Dimension getSize() {
+            roundTrip();
+            return new Dimension(1920, 1080);
+        }
+
+        @Override
+        public void setSize(Dimension targetSize) {
+            roundTrip();
+        }
+
+        @Override
+        public Point getPosition() {
+            roundTrip();
+            return new Point(0, 0);
+        }
+
+        @Override
+        public void setPosition(Point targetPosition) {
+            roundTrip();
+        }
+
+        @Override
+        public void maximize() {
+            roundTrip();
+        }
+
+        @Override
+        public void minimize() {
+            roundTrip();
+        }
+
+        @Override
+        public void fullscreen() {
+            roundTrip();
+        }
+    }
+
+    private final class StubNavigation implements Navigation {
+        @Override
+        public void back() {
+            roundTrip();
+        }
+
+        @Override
+        public void forward() {
+            roundTrip();
+        }
+
+        @Override
+        public void to(String url) {
+            get(url);
+        }
+
+        @Override
+        public void to(URL url) {
+            get(url.toString());
+        }
+
+        @Override
+        public void refresh() {
+            roundTrip();
+        }
+    }
+
+    private final class StubTargetLocator implements TargetLocator {
+        @Override
+        public WebDriver frame(int index) {
+            roundTrip();
+            return StubWebDriver.this;
+        }
+
+        @Override
+        public WebDriver frame(String nameOrId) {
+            roundTrip();
+            return StubWebDriver.this;
+        }
+
+        @Override
+        public WebDriver frame(WebElement frameElement) {
+            roundTrip();
+            return StubWebDriver.this;
+        }
+
+        @Override
+        public WebDriver parentFrame() {
+            roundTrip();
+            return StubWebDriver.this;
+        }
+
+        @Override
+        public WebDriver window(String nameOrHandle) {
+            roundTrip();
+            return StubWebDriver.this;
+        }
+
+        @Override
+        public WebDriver newWindow(WindowType typeHint) {
+            roundTrip();
+            return StubWebDriver.this;
+        }
+
+        @Override
+        public WebDriver defaultContent() {
+            roundTrip();
+            return StubWebDriver.this;
+        }
+
+        @Override
+        public WebElement activeElement() {
+            roundTrip();
+            return new StubWebElement(StubWebDriver.this);
+        }
+
+        // An alert that accepts everything and shows no text.
+        @Override
+        public Alert alert() {
+            roundTrip();
+            return new Alert() {
+                @Override
+                public void dismiss() {
+                    roundTrip();
+                }
+
+                @Override
+                public void accept() {
+                    roundTrip();
+                }
+
+                @Override
+                public String getText() {
+                    roundTrip();
+                    return "";
+                }
+
+                @Override
+                public void sendKeys(String keysToSend) {
+                    roundTrip();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package core.benchmarks;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+
+public class StubWebElement implements WebElement {
+    // Always present, visible and enabled element of the stub driver.
+    private final StubWebDriver driver;
+
+    StubWebElement(StubWebDriver driver) {
+        this.driver = driver;
+    }
+
+    @Override
+    public void click() {
+        driver.roundTrip();
+    }
+
+    @Override
+    public void submit() {
+        driver.roundTrip();
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        driver.roundTrip();
+    }
+
+    @Override
+    public void clear() {
+        driver.roundTrip();
+    }
+
+    @Override
+    public String getTagName() {
+        driver.roundTrip();
+        return "span";
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        driver.roundTrip();
+        return null;
+    }
+
+    @Override
+    public boolean isSelected() {
+        driver.roundTrip();
+        return false;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        driver.roundTrip();
+        return true;
+    }
+
+    @Override
+    public String getText() {
+        driver.roundTrip();
+        return driver.getElementText();
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return driver.findElements(by);
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        return driver.findElement(by);
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        driver.roundTrip();
+        return true;
+    }
+
+    @Override
+    public Point getLocation() {
+        driver.roundTrip();
+        return new Point(0, 0);
+    }
+
+    @Override
+    public Dimension getSize() {
+        driver.roundTrip();
+        return new Dimension(100, 20);
+    }
+
+    @Override
+    public Rectangle getRect() {
+        driver.roundTrip();
+        return new Rectangle(0, 0, 20, 100);
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        driver.roundTrip();
+        return "";
+    }
+
+    // An empty image, converted like a real screenshot.
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        driver.roundTrip();
+        return target.convertFromPngBytes(new byte[0]);
+    }
+}
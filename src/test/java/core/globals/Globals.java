@@ -1,10 +1,6 @@
 package core.globals;
 
 public class Globals {
-    public static String browserType = "Chrome";  
-    public static String baseUrl = "https://magento.softwaretestingboard.com/"; // Base URL of the Magento test site
-
-
-    public static String createdEmail = "grejsibrahimi@gmail.com"; // Email used for test account login
-    public static String password = "grejs123!"; // Password for the test account
+    public static final String browserType = "Chrome";
+    public static final String baseUrl = "https://magento.softwaretestingboard.com/"; // Base URL of the Magento test site
 }
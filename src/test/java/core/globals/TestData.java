@@ -0,0 +1,41 @@
+package core.globals;
+
+import core.utilities.accounts.Account;
+import core.utilities.accounts.AccountPool;
+
+public class TestData {
+    // Per-thread test data, so tests running in parallel never overwrite each other's account.
+    private static final ThreadLocal<TestData> testData = ThreadLocal.withInitial(TestData::new);
+
+    private Account account;
+
+    public static TestData getTestData() {
+        return testData.get();
+    }
+
+    // Drops the current thread's data so the next test starts from the defaults.
+    public static void reset() {
+        testData.remove();
+    }
+
+    // Tests that need a customer get one from the account pool on first use; only registration tests create one.
+    public Account getAccount() {
+        if (account == null) {
+            account = AccountPool.getAccountPool().lease();
+        }
+        return account;
+    }
+
+    public String getEmail() {
+        return getAccount().email();
+    }
+
+    public String getPassword() {
+        return getAccount().password();
+    }
+
+    // Stores an account created by the current test for later steps of the same test.
+    public void setAccount(String email, String password) {
+        this.account = new Account(email, password, null, null);
+    }
+}
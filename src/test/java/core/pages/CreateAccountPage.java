@@ -1,14 +1,20 @@
 package core.pages;
 
+import core.utilities.ReadinessContract;
+import core.utilities.WebElementUtils;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 
 public class CreateAccountPage {
     private WebDriver driver;
+    private WebElementUtils elementUtils;
 
     // Locators for different elements on the registration page
     private By createAccountLink = By.xpath("//a[contains(text(),'Create an Account')]");
@@ -22,22 +28,36 @@ public class CreateAccountPage {
     private By userMenu = By.xpath("//button[@data-action='customer-menu-toggle']");
     private By signOutLink = By.xpath("//a[contains(text(), 'Sign Out')]");
 
+    // The form is rendered by the page's scripts; it is usable once the first field shows.
+    static final ReadinessContract readiness = ReadinessContract.forPage(CreateAccountPage.class)
+            .visible(By.id("firstname"))
+            .present(By.xpath("//button[@title='Create an Account']"));
+
+    // Fields that must receive real keystrokes instead of a scripted value; none on this form at the moment.
+    private Set<By> keystrokeFields = Set.of();
+
     public CreateAccountPage(WebDriver driver) {
         this.driver = driver;
+        this.elementUtils = new WebElementUtils(driver, Duration.ofSeconds(10));
     }
 
-    // Navigates to the registration page
+    // Navigates to the registration page and waits until its form can be used
     public void navigateToRegistration() {
+        long started = System.nanoTime();
         driver.findElement(createAccountLink).click();
+        readiness.await(driver, started);
     }
 
-    // Fills out the registration form with provided details
+    // Fills out the registration form with provided details in a single script call, once the form is rendered
     public void fillRegistrationForm(String firstName, String lastName, String email, String password) {
-        driver.findElement(firstNameField).sendKeys(firstName);
-        driver.findElement(lastNameField).sendKeys(lastName);
-        driver.findElement(emailField).sendKeys(email);
-        driver.findElement(passwordField).sendKeys(password);
-        driver.findElement(confirmPasswordField).sendKeys(password);
+        readiness.await(driver);
+        Map<By, String> fields = new LinkedHashMap<>();
+        fields.put(firstNameField, firstName);
+        fields.put(lastNameField, lastName);
+        fields.put(emailField, email);
+        fields.put(passwordField, password);
+        fields.put(confirmPasswordField, password);
+        elementUtils.fillFields(fields, keystrokeFields);
     }
 
     // Clicks the button to submit the registration form
@@ -1,5 +1,8 @@
 package core.pages;
 
+import core.utilities.ReadinessContract;
+import core.utilities.navigation.NavigationGraph;
+import core.utilities.navigation.Route;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
@@ -17,13 +20,36 @@ public class HPage {
     private By userMenu = By.xpath("//button[@data-action='customer-menu-toggle']");
     private By signOutLink = By.xpath("//a[contains(text(), 'Sign Out')]");
 
+    // Ready once the top menu is in the page; the account dashboard once the contact block is.
+    static final ReadinessContract readiness = ReadinessContract.forPage(HPage.class)
+            .present(By.cssSelector("nav.navigation"));
+    static final ReadinessContract accountReadiness = ReadinessContract.forPage(HPage.class, "account")
+            .present(By.cssSelector(".block-dashboard-info"));
+
     public HPage(WebDriver driver) {
         this.driver = driver;
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
     }
 
-    // Navigates to the Jackets section under Women > Tops
+    // Pages reached from the header: the home page, the Jackets category and the customer account.
+    static void declareRoutes(NavigationGraph graph) {
+        graph.page(Storefront.home, "^/$", readiness);
+        graph.page(Storefront.jackets, "^/women/tops-women/jackets", ProductPage.readiness);
+        graph.page(Storefront.account, "^/customer/account/?$", accountReadiness);
+        graph.deepLink(Storefront.home, "//a[contains(@class, 'logo')]");
+        graph.deepLink(Storefront.jackets, "//a[span[text()='Jackets']]");
+        graph.deepLink(Storefront.account, "//div[contains(@class, 'customer-menu')]//a[contains(@href, 'customer/account')]");
+        graph.route(Route.anywhere, Storefront.jackets, Route.Kind.MENU, 4, driver -> new HPage(driver).walkMenuToJackets());
+        graph.route(Route.anywhere, Storefront.account, Route.Kind.LINK, 2, driver -> new HPage(driver).clickProfileLink());
+    }
+
+    // Navigates to the Jackets section, directly once its URL is known
     public void goToJacketsSection() {
+        Storefront.router(driver).navigate(Storefront.jackets);
+    }
+
+    // Walks the menu to the Jackets section under Women > Tops, for tests that cover the menu
+    public void walkMenuToJackets() {
         Actions actions = new Actions(driver);
 
         WebElement women = wait.until(ExpectedConditions.visibilityOfElementLocated(womenMenu));
@@ -42,6 +68,11 @@ public class HPage {
 
     // Navigates to the user profile page
     public void goToUserProfile() {
+        Storefront.router(driver).navigate(Storefront.account);
+    }
+
+    // Clicks the profile link in the header
+    public void clickProfileLink() {
         try {
             WebElement profileLink = wait.until(ExpectedConditions.elementToBeClickable(
                     By.xpath("//a[contains(@href, 'customer/account')]")
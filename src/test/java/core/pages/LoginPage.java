@@ -1,5 +1,9 @@
 package core.pages;
 
+import core.utilities.ReadinessContract;
+import core.utilities.WebElementUtils;
+import core.utilities.navigation.NavigationGraph;
+import core.utilities.navigation.Route;
 import org.openqa.selenium.By;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebDriver;
@@ -7,10 +11,13 @@ import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class LoginPage {
     private WebDriver driver;
     private WebDriverWait wait;
+    private WebElementUtils elementUtils;
 
     // Locators for login elements
     private By signInLink = By.xpath("//a[contains(text(),'Sign In')]");
@@ -19,9 +26,20 @@ public class LoginPage {
     private By signInButton = By.id("send2");
     private By userMenu = By.xpath("//div[@class='panel header']//span[@class='logged-in']");
 
+    static final ReadinessContract readiness = ReadinessContract.forPage(LoginPage.class)
+            .visible(By.id("email"))
+            .present(By.id("send2"));
+
     public LoginPage(WebDriver driver) {
         this.driver = driver;
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.elementUtils = new WebElementUtils(driver, Duration.ofSeconds(10));
+    }
+
+    static void declareRoutes(NavigationGraph graph) {
+        graph.page(Storefront.login, "^/customer/account/login", readiness);
+        graph.deepLink(Storefront.login, "//a[contains(text(),'Sign In')]");
+        graph.route(Route.anywhere, Storefront.login, Route.Kind.LINK, 2, driver -> new LoginPage(driver).openLoginPage());
     }
 
     // Opens the login page by clicking the "Sign In" link
@@ -39,10 +57,13 @@ public class LoginPage {
         }
     }
 
-    // Performs login by entering email, password, and clicking the login button
+    // Performs login by setting email and password in one script call, then clicking the login button
     public void login(String email, String password) {
-        wait.until(ExpectedConditions.visibilityOfElementLocated(emailField)).sendKeys(email);
-        driver.findElement(passwordField).sendKeys(password);
+        wait.until(ExpectedConditions.visibilityOfElementLocated(emailField));
+        Map<By, String> fields = new LinkedHashMap<>();
+        fields.put(emailField, email);
+        fields.put(passwordField, password);
+        elementUtils.fillFields(fields);
         driver.findElement(signInButton).click();
     }
 
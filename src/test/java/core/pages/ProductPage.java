@@ -1,53 +1,104 @@
 package core.pages;
 
+import core.utilities.ConfigurationReader;
+import core.utilities.NetworkIdleTracker;
+import core.utilities.PriceUtils;
+import core.utilities.ReadinessContract;
+import core.utilities.WebElementUtils;
+import core.utilities.filters.FilterOptionCatalog;
+import core.utilities.filters.ProductFilters;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Pattern;
 
 public class ProductPage {
     // Represents the Product Page in the application.
     private final WebDriver driver;
     private final WebDriverWait wait;
     private JavascriptExecutor jsExecutor;
+    private WebElementUtils elementUtils;
 
     private By removePriceButton = By.xpath("//a[@class='action remove' and contains(@title, 'Remove Price')]");
 
     By loader = By.cssSelector(".loading-mask");
     private By productItem = By.cssSelector(".product-item");
 
+    // A category page is ready when its product list (or the empty message) is in place and no loader or request is busy.
+    static final ReadinessContract readiness = ReadinessContract.forPage(ProductPage.class)
+            .present(By.cssSelector(".products.wrapper, .message.info.empty"))
+            .absent(By.cssSelector(".loading-mask"))
+            .networkIdle();
+
+    // How long the network has to stay quiet before a filter counts as applied.
+    private final Duration networkQuietPeriod = Duration.ofMillis(
+            ConfigurationReader.getIntProperty("network.idle.quiet.millis", 300));
+
+    private final ProductFilters.Mode filterMode;
+
     // Constructor to initialize WebDriver, WebDriverWait, and JavascriptExecutor.
     public ProductPage(WebDriver driver) {
+        this(driver, ProductFilters.Mode.configured());
+    }
+
+    // Tests of the filter panel itself pass Mode.CLICK.
+    public ProductPage(WebDriver driver, ProductFilters.Mode filterMode) {
         this.driver = driver;
+        this.filterMode = filterMode;
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
         this.jsExecutor = (JavascriptExecutor) driver;
+        this.elementUtils = new WebElementUtils(driver, Duration.ofSeconds(10));
     }
 
     // Applies a color filter to the products.
     public void applyColorFilter(String color) {
-        By colorFilter = By.xpath("//div[contains(@class, 'filter-options-title') and text()='Color']");
-        WebElement colorFilterElement = wait.until(ExpectedConditions.elementToBeClickable(colorFilter));
-        colorFilterElement.click();
-        By colorOption = By.xpath("//a[contains(@href, 'color=50')]/div");
-        WebElement colorElement = wait.until(ExpectedConditions.elementToBeClickable(colorOption));
-        ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", colorElement);
-        colorElement.click();
-        waitForProductsToUpdate();
+        applyFilters(ProductFilters.create().with("color", color));
     }
 
-    // Applies a price filter to the products.
+    // Applies a price filter to the products, given as the storefront shows it (e.g. "$50.00 - $59.99").
     public void applyPriceFilter(String priceText) {
-        By priceFilter = By.xpath("//div[contains(@class, 'filter-options-title') and text()='Price']");
-        WebElement priceFilterElement = wait.until(ExpectedConditions.elementToBeClickable(priceFilter));
-        priceFilterElement.click();
-        By priceOption = By.xpath("//a[contains(@href, 'price=50-60')]");
-        WebElement priceElement = wait.until(ExpectedConditions.elementToBeClickable(priceOption));
-        ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", priceElement);
-        priceElement.click();
-        waitForProductsToUpdate();
+        applyFilters(ProductFilters.create().with("price", priceText));
+    }
+
+    // Applies every filter, the sort order and the page size on top of the filters already applied.
+    // In URL mode that is a single navigation to the composed category URL.
+    public void applyFilters(ProductFilters filters) {
+        List<FilterOptionCatalog.Option> options = new ArrayList<>();
+        filters.getFilters().forEach((attribute, value) -> options.add(FilterOptionCatalog.lookup(driver, attribute, value)));
+        if (filterMode == ProductFilters.Mode.CLICK) {
+            for (FilterOptionCatalog.Option option : options) {
+                clickFilterOption(option);
+            }
+            if (filters.listParameters().isEmpty()) {
+                return;
+            }
+            options.clear();
+        }
+        long started = System.nanoTime();
+        driver.get(filters.compose(driver.getCurrentUrl(), options));
+        readiness.await(driver, started);
+        System.out.println("Filters applied: " + filters);
+    }
+
+    // Expands the filter's panel and clicks the option, as a user would.
+    private void clickFilterOption(FilterOptionCatalog.Option option) {
+        By filterTitle = By.xpath("//div[contains(@class, 'filter-options-title') and normalize-space()='" + option.title() + "']");
+        WebElement filterTitleElement = wait.until(ExpectedConditions.elementToBeClickable(filterTitle));
+        filterTitleElement.click();
+        String parameter = option.code() + "=" + URLEncoder.encode(option.value(), StandardCharsets.UTF_8);
+        By optionLink = By.xpath("//div[contains(@class, 'filter-options-content')]//a[contains(concat(@href, '&'), '" + parameter + "&')]");
+        WebElement optionElement = wait.until(ExpectedConditions.elementToBeClickable(optionLink));
+        ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", optionElement);
+        long mark = markNetwork();
+        optionElement.click();
+        waitForProductsToUpdate(Pattern.compile("[?&]" + Pattern.quote(parameter) + "(&|$)"), mark);
     }
 
 
@@ -62,7 +113,7 @@ public class ProductPage {
 
                 for (WebElement product : products) {
                     try {
-                        product.findElement(By.xpath("//div[@id='option-label-color-93-item-50' and contains(@class, 'selected')]"));
+                        product.findElement(By.cssSelector(".swatch-option.color.selected[option-label='" + expectedColor + "']"));
                     } catch (NoSuchElementException e) {
                         System.out.println("Product does not have the color label: " + expectedColor); 
                         return false;
@@ -86,17 +137,16 @@ public class ProductPage {
 
     // Verifies that the prices of displayed products are within the expected range.
     public boolean verifyPriceRange(double minPrice, double maxPrice) {
-        List<WebElement> priceElements = driver.findElements(By.xpath("//ol[@class='products list items product-items']//span[@class='price']"));
-        for (WebElement priceElement : priceElements) {
-            String priceText = priceElement.getText().replace("$", "").replace(",", "").trim();
+        List<String> prices = elementUtils.readTexts(By.xpath("//ol[@class='products list items product-items']//span[@class='price']"));
+        for (String priceValue : prices) {
             try {
-                double price = Double.parseDouble(priceText);
+                double price = PriceUtils.parsePrice(priceValue);
                 if (price < minPrice || price > maxPrice) {
                     System.out.println("Product has price outside the range: $" + price); 
                     return false;
                 }
             } catch (NumberFormatException e) {
-                System.out.println("Could not read price: " + priceText); 
+                System.out.println("Could not read price: " + priceValue.trim()); 
                 return false;
             }
         }
@@ -104,7 +154,13 @@ public class ProductPage {
     }
   
  // Waits for the product list to update after applying filters.
-    private void waitForProductsToUpdate() {
+    // With DevTools this is a single condition: the layered-navigation request has completed and the network is idle.
+    private void waitForProductsToUpdate(Pattern layeredNavigationRequest, long mark) {
+        NetworkIdleTracker tracker = NetworkIdleTracker.forDriver(driver);
+        if (tracker != null && tracker.awaitIdle(layeredNavigationRequest, mark, networkQuietPeriod, Duration.ofSeconds(15))
+                && tracker.awaitIdle(null, -1, networkQuietPeriod, Duration.ofSeconds(5))) {
+            return;
+        }
         try {
             wait.until(ExpectedConditions.invisibilityOfElementLocated(loader));
         } catch (TimeoutException e) {
@@ -119,8 +175,12 @@ public class ProductPage {
         } catch (Exception ignored) {}
     }
 
-    // Waits for AJAX requests to complete.
+    // Waits for AJAX requests to complete, through the network idle tracker when DevTools is available.
     public void waitForAjaxToComplete() {
+        NetworkIdleTracker tracker = NetworkIdleTracker.forDriver(driver);
+        if (tracker != null && tracker.awaitIdle(null, -1, networkQuietPeriod, Duration.ofSeconds(15))) {
+            return;
+        }
         try {
             new WebDriverWait(driver, Duration.ofSeconds(15)).until(
                     webDriver -> (Boolean) ((JavascriptExecutor) webDriver)
@@ -131,6 +191,12 @@ public class ProductPage {
             System.err.println("AJAX did not complete within the time."); 
         }
     }
+    // Takes the network mark before an action whose requests the next wait should see, -1 without DevTools.
+    private long markNetwork() {
+        NetworkIdleTracker tracker = NetworkIdleTracker.forDriver(driver);
+        return tracker == null ? -1 : tracker.mark();
+    }
+
     // Waits for the product grid to update.
     public void waitForProductGridUpdate() {
         WebElement grid = driver.findElement(By.cssSelector(".products.wrapper.grid.products-grid"));
@@ -140,8 +206,7 @@ public class ProductPage {
  // Gets the number of displayed product items.
     public int getNumberOfDisplayedProducts() {
         try {
-            waitForAjaxToComplete();
-            wait.until(ExpectedConditions.invisibilityOfElementLocated(loader));
+            readiness.await(driver);
 
             List<WebElement> visibleProducts = driver.findElements(
                     By.cssSelector("p#toolbar-amount.toolbar-amount\n")
@@ -163,9 +228,10 @@ public class ProductPage {
             WebElement removeButton = wait.until(ExpectedConditions.presenceOfElementLocated(removePriceButton));
 
             ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", removeButton);
+            long mark = markNetwork();
             ((JavascriptExecutor) driver).executeScript("arguments[0].click();", removeButton);
 
-            waitForProductsToUpdate();
+            waitForProductsToUpdate(null, mark);
 
             System.out.println("Price filter removed successfully."); 
         } catch (TimeoutException e) {
@@ -184,31 +250,14 @@ public class ProductPage {
     private List<WebElement> getWishListButtons() {
         return driver.findElements(By.cssSelector(".actions-secondary .towishlist"));
     }
-    // Adds the first two items to the Wish List.
-    public void addFirstTwoItemsToWishList() {
+    // Adds the first item to the Wish List; the store then opens the Wish List page.
+    public void addFirstItemToWishList() {
         List<WebElement> wishListButtons = getWishListButtons();
-
-        if (!wishListButtons.isEmpty()) {
-            WebElement firstButton = wishListButtons.get(0);
-            scrollAndClick(firstButton);
-            System.out.println("Product 1 added to Wish List."); 
-
-            driver.navigate().back();
-            wait.until(ExpectedConditions.presenceOfElementLocated(By.cssSelector(".product-item")));
-            System.out.println("Returned to the product list."); 
-
-            wishListButtons = getWishListButtons();
-
-            if (wishListButtons.size() > 1) {
-                WebElement secondButton = wishListButtons.get(1);
-                scrollAndClick(secondButton);
-                System.out.println("Product 2 added to Wish List."); 
-            } else {
-                throw new TimeoutException("⏳ No second product to add to Wish List."); 
-            }
-        } else {
-            throw new TimeoutException("No products to add to Wish List."); 
+        if (wishListButtons.isEmpty()) {
+            throw new TimeoutException("No products to add to Wish List.");
         }
+        scrollAndClick(wishListButtons.get(0));
+        System.out.println("Product 1 added to Wish List.");
     }
     // Scrolls to and clicks a button.
     private void scrollAndClick(WebElement button) {
@@ -1,5 +1,10 @@
 package core.pages;
 
+import core.utilities.PriceUtils;
+import core.utilities.ReadinessContract;
+import core.utilities.WebElementUtils;
+import core.utilities.navigation.NavigationGraph;
+import core.utilities.navigation.Route;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
@@ -9,16 +14,30 @@ import java.util.List;
 public class ShoppingCPage {
     private WebDriver driver;
     private WebDriverWait wait;
+    private WebElementUtils elementUtils;
 
     private By successMessage = By.cssSelector(".message-success");
     private By shoppingCartLink = By.cssSelector(".message-success a[href*='checkout/cart']");
     private By cartItemPrices = By.cssSelector("td.col.subtotal span.price");
     private By orderTotal = By.cssSelector(".grand.totals .price");
 
+    static final ReadinessContract readiness = ReadinessContract.forPage(ShoppingCPage.class)
+            .present(By.cssSelector(".cart-container, .cart-empty"))
+            .absent(By.cssSelector(".loading-mask"))
+            .script("Shopping Cart title", "return document.title.indexOf('Shopping Cart') !== -1;");
+
     public ShoppingCPage(WebDriver driver) {
         this.driver = driver;
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.elementUtils = new WebElementUtils(driver, Duration.ofSeconds(10));
+    }
+    // The cart is linked from the header's cart icon; the mini cart's "View and Edit Cart" is the user's way there.
+    static void declareRoutes(NavigationGraph graph) {
+        graph.page(Storefront.cart, "^/checkout/cart", readiness);
+        graph.deepLink(Storefront.cart, "//a[contains(@class, 'showcart')]");
+        graph.route(Route.anywhere, Storefront.cart, Route.Kind.MENU, 4, driver -> new ShoppingCPage(driver).walkMiniCartToShoppingCart());
     }
+
     // Check if the success message is displayed
     public boolean isSuccessMessageDisplayed() {
         try {
@@ -34,24 +53,22 @@ public class ShoppingCPage {
     }
     // Check if the user is on the shopping cart page
     public boolean isOnShoppingCartPage() {
-        return driver.getTitle().contains("Shopping Card");
+        return driver.getTitle().contains("Shopping Cart");
     }
 
-    // Get the sum of all product prices in the cart
+    // Get the sum of all product prices in the cart, reading every price in one script call
     public double getSumOfProductPrices() {
-        List<WebElement> prices = driver.findElements(cartItemPrices);
+        List<String> prices = elementUtils.readTexts(cartItemPrices);
         double sum = 0.0;
-        for (WebElement priceElement : prices) {
-            String priceText = priceElement.getText().replace("$", "").replace(",", "").trim();
-            sum += Double.parseDouble(priceText);
+        for (String price : prices) {
+            sum += PriceUtils.parsePrice(price);
         }
         return sum;
     }
     // Get the total order price
     public double getOrderTotal() {
         WebElement totalElement = wait.until(ExpectedConditions.visibilityOfElementLocated(orderTotal));
-        String totalText = totalElement.getText().replace("$", "").replace(",", "").trim();
-        return Double.parseDouble(totalText);
+        return PriceUtils.parsePrice(totalElement.getText());
     }
     // Get the total number of items in the cart
     public int getNumberOfCartItems() {
@@ -60,9 +77,7 @@ public class ShoppingCPage {
     }
     // Get the number of visible cart items
     public int getNumberOfCartItemst() {
-        List<WebElement> cartItems = driver.findElements(By.cssSelector(".cart.item"));
-        long visibleItems = cartItems.stream().filter(WebElement::isDisplayed).count();
-        return (int) visibleItems;
+        return (int) elementUtils.countDisplayed(By.cssSelector(".cart.item"));
     }
     // Delete the first item in the cart
     public void deleteFirstCartItem() {
@@ -88,8 +103,13 @@ public class ShoppingCPage {
             return false;
         }
     }
-    // Navigate to the shopping cart page
-    public void goToShoppingCart() {
+    // Open the shopping cart page, directly once its URL is known, for tests that do not cover the mini cart
+    public void openShoppingCart() {
+        Storefront.router(driver).navigate(Storefront.cart);
+    }
+
+    // Open the shopping cart through the cart icon and the mini cart, for tests that cover the mini cart
+    public void walkMiniCartToShoppingCart() {
         try {
             WebElement cartIcon = wait.until(ExpectedConditions.elementToBeClickable(
                     By.cssSelector(".action.showcart")
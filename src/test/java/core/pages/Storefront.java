@@ -0,0 +1,28 @@
+package core.pages;
+
+import core.utilities.navigation.NavigationGraph;
+import core.utilities.navigation.Router;
+import org.openqa.selenium.WebDriver;
+
+public class Storefront {
+    // The storefront's pages and the routes between them, as each page object declares them.
+    public static final String home = "home";
+    public static final String login = "login";
+    public static final String account = "account";
+    public static final String jackets = "jackets";
+    public static final String wishList = "wish list";
+    public static final String cart = "cart";
+
+    private static final NavigationGraph graph = new NavigationGraph();
+
+    static {
+        HPage.declareRoutes(graph);
+        LoginPage.declareRoutes(graph);
+        WishListPage.declareRoutes(graph);
+        ShoppingCPage.declareRoutes(graph);
+    }
+
+    public static Router router(WebDriver driver) {
+        return new Router(driver, graph);
+    }
+}
@@ -1,5 +1,8 @@
 package core.pages;
 
+import core.utilities.ReadinessContract;
+import core.utilities.navigation.NavigationGraph;
+import core.utilities.navigation.Route;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
@@ -11,12 +14,26 @@ public class WishListPage {
     private final WebDriverWait wait;
     private By successMessage = By.cssSelector(".message-success");
 
+    // The item counter is filled in from the customer data request, so the network has to settle too.
+    static final ReadinessContract readiness = ReadinessContract.forPage(WishListPage.class)
+            .present(By.cssSelector("#wishlist-view-form, .message.info.empty"))
+            .networkIdle();
+
     // Constructor to initialize WebDriver and WebDriverWait.
     public WishListPage(WebDriver driver) {
         this.driver = driver;
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
     }
 
+    // The Wish List is linked from the customer menu and from the account page's sidebar.
+    static void declareRoutes(NavigationGraph graph) {
+        graph.page(Storefront.wishList, "^/wishlist", readiness);
+        graph.deepLink(Storefront.wishList, "//div[contains(@class, 'customer-menu')]//a[contains(@href, 'wishlist')]");
+        graph.route(Route.anywhere, Storefront.wishList, Route.Kind.MENU, 3, driver -> new WishListPage(driver).walkUserMenuToWishList());
+        graph.route(Storefront.account, Storefront.wishList, Route.Kind.LINK, 2, driver -> driver.findElement(
+                By.cssSelector(".block-collapsible-nav a[href*='wishlist']")).click());
+    }
+
     // Checks if the success message is displayed.
     public boolean isSuccessMessageDisplayed() {
         try {
@@ -26,21 +43,26 @@ public class WishListPage {
         }
     }
 
+    // Opens the Wish List through the user menu, for tests that cover the menu.
+    public void walkUserMenuToWishList() {
+        // Find and click the user button to open the user menu.
+        WebElement userButton = driver.findElement(By.cssSelector("span.customer-name"));
+        ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", userButton);
+        userButton.click();
+        System.out.println("Clicked on the user icon.");
+
+        // Find and click the Wish List link in the user menu.
+        WebElement wishListLink = wait.until(ExpectedConditions.elementToBeClickable(
+                By.cssSelector("div.customer-menu a[href*='wishlist']")
+        ));
+        wishListLink.click();
+        System.out.println("'My Wish List' section.");
+    }
+
     // Retrieves the count of items in the Wish List.
     public int getWishListItemCount() {
         try {
-            // Find and click the user button to open the user menu.
-            WebElement userButton = driver.findElement(By.cssSelector("span.customer-name"));
-            ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", userButton);
-            userButton.click();
-            System.out.println("Clicked on the user icon.");
-
-            // Find and click the Wish List link in the user menu.
-            WebElement wishListLink = wait.until(ExpectedConditions.elementToBeClickable(
-                    By.cssSelector("div.customer-menu a[href*='wishlist']")
-            ));
-            wishListLink.click();
-            System.out.println("'My Wish List' section."); 
+            Storefront.router(driver).navigate(Storefront.wishList);
 
             // Extract the count of items from the Wish List.
             String countText = ((JavascriptExecutor) driver).executeScript(
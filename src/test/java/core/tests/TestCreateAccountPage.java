@@ -1,8 +1,9 @@
 package core.tests;
 
-import core.globals.Globals;
+import core.globals.TestData;
 import core.pages.CreateAccountPage;
 import core.utilities.Test1;
+import core.utilities.accounts.Account;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -12,7 +13,7 @@ public class TestCreateAccountPage extends Test1 {
     @Test
     public void testCreateAccount() {
 
-        CreateAccountPage createAccount = new CreateAccountPage(driver);
+        CreateAccountPage createAccount = new CreateAccountPage(getDriver());
 
         // Navigates to the registration page.
         createAccount.navigateToRegistration();
@@ -20,9 +21,9 @@ public class TestCreateAccountPage extends Test1 {
         // Defines test data for account creation.
         String firstName = "test";
         String lastName = "test";
-        String email = "test" + System.currentTimeMillis() + "@gmail.com";
+        String email = Account.uniqueEmail("test");
         String password = "Test123!";
-        Globals.createdEmail = email; // Stores the created email for later use.
+        TestData.getTestData().setAccount(email, password); // Stores the created account for this thread only.
         createAccount.fillRegistrationForm(firstName, lastName, email, password);
 
         // Submits the registration form.
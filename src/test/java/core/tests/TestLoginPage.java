@@ -12,8 +12,8 @@ public class TestLoginPage extends Test1{
     @Test
     public void testSignIn() {
 
-        LoginPage loginPage = new LoginPage(driver);
-        HPage homePage = new HPage(driver);
+        LoginPage loginPage = new LoginPage(getDriver());
+        HPage homePage = new HPage(getDriver());
 
         // Navigates to the login page.
         loginPage.openLoginPage();
@@ -1,10 +1,9 @@
 package core.tests;
 
-import core.globals.Globals;
 import core.pages.HPage;
-import core.pages.LoginPage;
 import core.pages.ProductPage;
 import core.utilities.Test1;
+import core.utilities.filters.ProductFilters;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -14,22 +13,18 @@ import java.util.List;
 public class TestProductFTest extends Test1 {
 
     // Test class for verifying product filter functionality.
-    private HPage homePage;
-    private ProductPage productPage;
 
-    // Logs in the user before each test method.
+    // Logs in the user before each test method, restoring the cached session when there is one.
     @BeforeMethod
     public void signInToLuma() {
-        LoginPage loginPage = new LoginPage(driver);
-        loginPage.openLoginPage();
-        loginPage.login(Globals.createdEmail, Globals.password);
-        Assert.assertTrue(loginPage.isUserLoggedIn(), "Login failed!");
+        Assert.assertTrue(signInCached(), "Login failed!");
     }
     // Tests product filtering by color and price range.
     @Test
     public void testPageFilters() {
-        homePage = new HPage(driver);
-        productPage = new ProductPage(driver);
+        HPage homePage = new HPage(getDriver());
+        // Clicks through the filter panel, since the panel itself is under test.
+        ProductPage productPage = new ProductPage(getDriver(), ProductFilters.Mode.CLICK);
 
         // Navigates to the jackets section.
         homePage.goToJacketsSection();
@@ -57,10 +52,10 @@ public class TestProductFTest extends Test1 {
 
     // Gets the number of displayed product items.
     public int getNumberOfDisplayedProducts() {
-        if (driver == null) {
+        if (getDriver() == null) {
             throw new IllegalStateException("WebDriver is null! Ensure it is initialized correctly."); 
         }
-        List elements = driver.findElements(By.cssSelector(".product-item"));
+        List elements = getDriver().findElements(By.cssSelector(".product-item"));
         return elements.size();
     }
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package core.tests;
+
+import core.utilities.filters.FilterOptionCatalog;
+import core.utilities.filters.ProductFilters;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+public class TestProductFilters {
+
+    // Unit checks of the filter URL composition; no browser needed.
+    private static final String jackets = "https://magento.softwaretestingboard.com/women/tops-women/jackets-women.html";
+
+    // Tests the storefront's price labels against Magento's half-open price parameter.
+    @Test
+    public void testPriceRange() {
+        Assert.assertEquals(ProductFilters.priceRange("$50.00 - $59.99"), "50-60");
+        Assert.assertEquals(ProductFilters.priceRange("$100.00 and above"), "100-");
+        Assert.assertEquals(ProductFilters.priceRange("40-50"), "40-50");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testPriceRangeRejectsOtherLabels() {
+        ProductFilters.priceRange("Blue");
+    }
+
+    // Tests that options and list parameters are added to the current query and the page number is dropped.
+    @Test
+    public void testComposeMergesQuery() {
+        ProductFilters filters = ProductFilters.create().sortBy("price", "asc").limit(36);
+        List<FilterOptionCatalog.Option> options = List.of(
+                new FilterOptionCatalog.Option("Price", "price", "50-60", "$50.00 - $59.99"));
+
+        String url = filters.compose(jackets + "?color=50&p=3", options);
+
+        Assert.assertEquals(url, jackets
+                + "?color=50&price=50-60&product_list_order=price&product_list_dir=asc&product_list_limit=36");
+    }
+
+    // Tests that a filter already in the query is replaced rather than repeated.
+    @Test
+    public void testComposeReplacesOption() {
+        List<FilterOptionCatalog.Option> options = List.of(
+                new FilterOptionCatalog.Option("Color", "color", "53", "Red"));
+
+        String url = ProductFilters.create().compose(jackets + "?color=50", options);
+
+        Assert.assertEquals(url, jackets + "?color=53");
+    }
+
+    @Test
+    public void testComposeWithoutFilters() {
+        String url = ProductFilters.create().compose(jackets + "?p=2#maincontent", Collections.emptyList());
+
+        Assert.assertEquals(url, jackets);
+    }
+}
@@ -0,0 +1,67 @@
+package core.tests;
+
+import core.utilities.history.RegressionDetector;
+import core.utilities.history.ResultsStore;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+
+public class TestRegressionDetector {
+
+    // Unit checks of the regression detection, on a results store in a temporary directory; no browser needed.
+    private static final String step = "TestLoginPage.testSignIn";
+
+    @Test
+    public void testMedian() {
+        Assert.assertEquals(RegressionDetector.median(new double[]{5, 1, 3}), 3.0);
+        Assert.assertEquals(RegressionDetector.median(new double[]{4, 1, 3, 2}), 2.5);
+        Assert.assertEquals(RegressionDetector.median(new double[]{7}), 7.0);
+    }
+
+    // A step that drifts from about 5 s to 8 s is flagged.
+    @Test
+    public void testDetectsSlowdown() throws IOException {
+        ResultsStore store = storeWithBaseline();
+        store.appendRun(100, Map.of(step, new ResultsStore.Sample(100, 8000, true)));
+
+        List<RegressionDetector.Regression> regressions = new RegressionDetector(20, 5, 3.5, 1.2).detect(store);
+        Assert.assertEquals(regressions.size(), 1, "The slowdown was not flagged!");
+        Assert.assertEquals(regressions.get(0).name(), step);
+        Assert.assertEquals(regressions.get(0).medianMillis(), 5000.0);
+    }
+
+    // Jitter of a few milliseconds stays below the relative slowdown.
+    @Test
+    public void testIgnoresJitter() throws IOException {
+        ResultsStore store = storeWithBaseline();
+        store.appendRun(100, Map.of(step, new ResultsStore.Sample(100, 5040, true)));
+
+        Assert.assertTrue(new RegressionDetector(20, 5, 3.5, 1.2).detect(store).isEmpty(), "Jitter was flagged!");
+    }
+
+    // Failed runs are left out of the baseline, so too few samples remain to judge the latest run.
+    @Test
+    public void testSkipsFailedBaseline() throws IOException {
+        ResultsStore store = ResultsStore.open(Files.createTempDirectory("history"));
+        for (int run = 1; run <= 6; run++) {
+            store.appendRun(run, Map.of(step, new ResultsStore.Sample(run, 1000, run % 2 == 0)));
+        }
+        store.appendRun(100, Map.of(step, new ResultsStore.Sample(100, 8000, true)));
+
+        Assert.assertTrue(new RegressionDetector(20, 5, 3.5, 1.2).detect(store).isEmpty(),
+                "Failed runs were used as baseline!");
+    }
+
+    private static ResultsStore storeWithBaseline() throws IOException {
+        ResultsStore store = ResultsStore.open(Files.createTempDirectory("history"));
+        int[] durations = {4980, 5010, 5000, 4990, 5020, 5000};
+        for (int run = 0; run < durations.length; run++) {
+            store.appendRun(run + 1, Map.of(step, new ResultsStore.Sample(run + 1, durations[run], true)));
+        }
+        return store;
+    }
+}
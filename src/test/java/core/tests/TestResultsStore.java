@@ -0,0 +1,38 @@
+package core.tests;
+
+import core.utilities.history.ResultsStore;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TestResultsStore {
+
+    // Unit checks of the results store files in a temporary directory; no browser needed.
+    @Test
+    public void testRoundTrip() throws IOException {
+        Path directory = Files.createTempDirectory("history");
+        ResultsStore store = ResultsStore.open(directory);
+        Map<String, ResultsStore.Sample> first = new LinkedHashMap<>();
+        first.put("TestLoginPage.testSignIn", new ResultsStore.Sample(1, 5000, true));
+        first.put("TestWishListPage.testAddToWishList", new ResultsStore.Sample(1, 7000, false));
+        store.appendRun(1, first);
+        store.appendRun(2, Map.of("TestLoginPage.testSignIn", new ResultsStore.Sample(2, 5200, true)));
+
+        // A reopened store reads back the same names, runs and samples.
+        ResultsStore reopened = ResultsStore.open(directory);
+        Assert.assertEquals(reopened.getNames(),
+                List.of("TestLoginPage.testSignIn", "TestWishListPage.testAddToWishList"));
+        Assert.assertEquals(reopened.runs(), List.of(1L, 2L));
+        Assert.assertEquals(reopened.series("TestLoginPage.testSignIn"),
+                List.of(new ResultsStore.Sample(1, 5000, true), new ResultsStore.Sample(2, 5200, true)));
+        Assert.assertEquals(reopened.series("TestWishListPage.testAddToWishList"),
+                List.of(new ResultsStore.Sample(1, 7000, false)));
+        Assert.assertTrue(reopened.series("Unknown.step").isEmpty(), "An unknown name has samples!");
+    }
+}
@@ -0,0 +1,52 @@
+package core.tests;
+
+import core.pages.ShoppingCPage;
+import core.pages.Storefront;
+import core.utilities.BaseInformation;
+import core.utilities.Test1;
+import core.utilities.accounts.CartItem;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class TestStorefrontMenus extends Test1 {
+
+    // Test class for the menus the other tests skip with deep links: each test walks one of them from the home page,
+    // where no cheaper link leads to the target.
+
+    // Logs in the user before each test method, restoring the cached session when there is one.
+    @BeforeMethod
+    public void signInToLuma() {
+        Assert.assertTrue(signInCached(), "Login failed!");
+    }
+
+    // Tests the Women > Tops > Jackets menu.
+    @Test
+    public void testJacketsMenu() {
+        walkFromHome(Storefront.jackets);
+        Assert.assertTrue(getDriver().getCurrentUrl().contains("/women/tops-women/jackets"),
+                "Not on the Jackets page: " + getDriver().getCurrentUrl());
+    }
+
+    // Tests the Wish List link of the user menu.
+    @Test
+    public void testUserMenuWishList() {
+        walkFromHome(Storefront.wishList);
+        Assert.assertTrue(getDriver().getCurrentUrl().contains("/wishlist"),
+                "Not on the Wish List page: " + getDriver().getCurrentUrl());
+    }
+
+    // Tests the mini cart's View and Edit Cart link, which needs an item in the cart.
+    @Test
+    public void testMiniCart() {
+        seedCart(CartItem.of("24-MB01", 1));
+        walkFromHome(Storefront.cart);
+        Assert.assertTrue(new ShoppingCPage(getDriver()).isOnShoppingCartPage(), "Not on the Shopping Cart page!");
+    }
+
+    // Loads the home page, which also picks up backend changes to the cart, then walks the menus to the target.
+    private void walkFromHome(String target) {
+        getDriver().get(BaseInformation.getBaseUrl());
+        Storefront.router(getDriver()).walk(target);
+    }
+}
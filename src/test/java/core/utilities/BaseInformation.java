@@ -1,39 +1,44 @@
 package core.utilities;
+import core.utilities.replay.StorefrontReplay;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.firefox.FirefoxDriver;
 
-import java.util.concurrent.TimeUnit;
 public class BaseInformation {
 
     public static BaseInformation getBaseInformation(){
        return new BaseInformation();
     }
-    private static WebDriver driver;
+    // Each test thread owns its own driver, so suites can run with TestNG parallel methods or classes.
+    private static final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
     public static WebDriver getDriver(){
-        if(driver == null){
-            String browserType = ConfigurationReader.getProperty("browser").toLowerCase();
-//            String browserType = Globals.browserType.toLowerCase();
-            switch (browserType){
-                case "chrome":
-                    System.setProperty("webdriver.chrome.driver","src/test/resources/drivers/chromedriver.exe");
-                    driver = new ChromeDriver();
-                    driver.manage().window().maximize();
-                    driver.manage().timeouts().implicitlyWait(10, TimeUnit.SECONDS);
-                    break;
-                case "firefox":
-                    System.setProperty("","");
-                    driver = new FirefoxDriver();
-                    driver.manage().window().maximize();
-                    driver.manage().timeouts().implicitlyWait(10, TimeUnit.SECONDS);
-                    break;
-            }
+        if(driver.get() == null){
+            // Same options as the pooled sessions, so replay mode keeps this one off the network too.
+            driver.set(DriverPool.createDriver());
         }
-        return driver;
+        return driver.get();
+    }
+
+    // Storefront url for this run: Globals.baseUrl, or the local replay server when replay.mode=replay.
+    public static String getBaseUrl(){
+        return StorefrontReplay.getBaseUrl();
+    }
+
+    // Binds a driver leased by the test base class to the current thread.
+    public static void setDriver(WebDriver webDriver){
+        driver.set(webDriver);
+    }
+
+    // Unbinds the current thread's driver without quitting it.
+    public static void removeDriver(){
+        driver.remove();
     }
 
     public static void quit() {
-       driver.quit();
+       WebDriver current = driver.get();
+       if (current != null) {
+           DevToolsSessions.detachAll(current);
+           current.quit();
+           driver.remove();
+       }
     }
 
-}
\ No newline at end of file
+}
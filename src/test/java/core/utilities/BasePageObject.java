@@ -1,6 +1,7 @@
 package core.utilities;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.PageFactory;
@@ -8,6 +9,8 @@ import org.openqa.selenium.support.pagefactory.DefaultElementLocatorFactory;
 import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
 
 public class BasePageObject {
     private ElementLocatorFactory rootFactory;
@@ -16,24 +19,27 @@ public class BasePageObject {
     private WaitUtils waitUtils;
     private WebElementUtils webElementUtils;
 
-    private final WebDriver driver = BaseInformation.getDriver();
+    // Resolved on first use: constructing a page object starts no browser, and its @FindBy proxies
+    // look up the driver (and the root element) only when an element is first touched.
+    private final Lazy<WebDriver> driver = Lazy.of(BaseInformation::getDriver);
 
 
     public BasePageObject(BaseInformation baseInformation) {
         this.baseInformation = baseInformation;
-        rootFactory = new DefaultElementLocatorFactory(driver);
+        rootFactory = new DefaultElementLocatorFactory(lazySearchContext(driver));
         PageFactory.initElements(rootFactory, this);
     }
 
     public BasePageObject(BaseInformation baseInformation, By locator) {
         this.baseInformation = baseInformation;
-        try{
-            getWaitUtils().waitForElementVisible(locator);
-        } catch (Exception ex) {
+        rootFactory = new DefaultElementLocatorFactory(lazySearchContext(Lazy.of(() -> {
+            try{
+                getWaitUtils().waitForElementVisible(locator);
+            } catch (Exception ex) {
 
-        }
-        rootFactory = new DefaultElementLocatorFactory(
-                driver.findElement(locator));
+            }
+            return driver.get().findElement(locator);
+        })));
         PageFactory.initElements(rootFactory, this);
     }
 
@@ -43,13 +49,28 @@ public class BasePageObject {
         PageFactory.initElements(rootFactory, this);
     }
 
+    // Search context that resolves its root on the first lookup.
+    private static SearchContext lazySearchContext(Supplier<? extends SearchContext> root) {
+        return new SearchContext() {
+            @Override
+            public List<WebElement> findElements(By by) {
+                return root.get().findElements(by);
+            }
+
+            @Override
+            public WebElement findElement(By by) {
+                return root.get().findElement(by);
+            }
+        };
+    }
+
     public void getUrl(String url){
-        driver.get(url);
+        driver.get().get(url);
     }
 
     public WaitUtils getWaitUtils() {
         if (waitUtils == null) {
-            waitUtils = new WaitUtils(getBaseInformation(), defaultDuration);
+            waitUtils = new WaitUtils(driver, defaultDuration);
         }
         return waitUtils;
     }
@@ -0,0 +1,172 @@
+package core.utilities;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+public class BrowserStateCache {
+    // Runs a setup path once, snapshots the browser state it leaves behind and replays it into later sessions.
+    private static final BrowserStateCache browserStateCache = new BrowserStateCache(
+            ConfigurationReader.getIntProperty("state.cache.ttl.seconds", 900),
+            Boolean.parseBoolean(ConfigurationReader.getProperty("state.cache.enabled", "true")));
+
+    private static final String readStorageScript =
+            "var read = function (storage) { var values = {};"
+                    + " for (var i = 0; i < storage.length; i++) { var key = storage.key(i); values[key] = storage.getItem(key); }"
+                    + " return values; };"
+                    + "return [read(window.localStorage), read(window.sessionStorage)];";
+    private static final String writeStorageScript =
+            "var write = function (storage, values) { storage.clear();"
+                    + " for (var key in values) { storage.setItem(key, values[key]); } };"
+                    + "write(window.localStorage, arguments[0]); write(window.sessionStorage, arguments[1]);";
+
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final boolean enabled;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder restoreNanos = new LongAdder();
+    private final LongAdder savedNanos = new LongAdder();
+
+    BrowserStateCache(long ttlSeconds, boolean enabled) {
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.enabled = enabled;
+    }
+
+    public static BrowserStateCache getBrowserStateCache() {
+        return browserStateCache;
+    }
+
+    // Restores the snapshot stored for the setup path, or runs the setup and stores a new snapshot.
+    // The validator decides whether a restored state is still usable (e.g. the user is still logged in).
+    public void restoreOrRun(WebDriver driver, String setupPath, Runnable setup, Predicate<WebDriver> validator) {
+        if (!enabled) {
+            setup.run();
+            return;
+        }
+        Snapshot snapshot = snapshots.get(setupPath);
+        if (snapshot != null && snapshot.isExpired(ttlMillis)) {
+            invalidate(setupPath, snapshot);
+            snapshot = null;
+        }
+        if (snapshot != null) {
+            long start = System.nanoTime();
+            boolean restored = restore(driver, snapshot) && validator.test(driver);
+            long elapsed = System.nanoTime() - start;
+            restoreNanos.add(elapsed);
+            if (restored) {
+                hits.increment();
+                savedNanos.add(Math.max(0, snapshot.setupNanos - elapsed));
+                return;
+            }
+            System.out.println("Snapshot for '" + setupPath + "' failed validation, running the setup again.");
+            invalidate(setupPath, snapshot);
+            clearState(driver);
+        }
+        misses.increment();
+        long start = System.nanoTime();
+        setup.run();
+        long setupNanos = System.nanoTime() - start;
+        if (validator.test(driver)) {
+            snapshots.put(setupPath, capture(driver, setupNanos));
+        }
+    }
+
+    public void invalidate(String setupPath) {
+        Snapshot removed = snapshots.remove(setupPath);
+        if (removed != null) {
+            invalidations.increment();
+        }
+    }
+
+    private void invalidate(String setupPath, Snapshot snapshot) {
+        if (snapshots.remove(setupPath, snapshot)) {
+            invalidations.increment();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Snapshot capture(WebDriver driver, long setupNanos) {
+        Object storage = ((JavascriptExecutor) driver).executeScript(readStorageScript);
+        List<Map<String, String>> values = (List<Map<String, String>>) storage;
+        return new Snapshot(
+                new HashSet<>(driver.manage().getCookies()),
+                new HashMap<>(values.get(0)),
+                new HashMap<>(values.get(1)),
+                driver.getCurrentUrl(),
+                System.currentTimeMillis(),
+                setupNanos);
+    }
+
+    private boolean restore(WebDriver driver, Snapshot snapshot) {
+        try {
+            if (!Objects.equals(originOf(driver.getCurrentUrl()), originOf(snapshot.url))) {
+                driver.get(originOf(snapshot.url) + "/");
+            }
+            driver.manage().deleteAllCookies();
+            for (Cookie cookie : snapshot.cookies) {
+                driver.manage().addCookie(cookie);
+            }
+            ((JavascriptExecutor) driver).executeScript(writeStorageScript, snapshot.localStorage, snapshot.sessionStorage);
+            driver.get(snapshot.url);
+            return true;
+        } catch (WebDriverException e) {
+            System.out.println("Snapshot could not be restored: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void clearState(WebDriver driver) {
+        try {
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            driver.manage().deleteAllCookies();
+            driver.get(BaseInformation.getBaseUrl());
+        } catch (WebDriverException e) {
+            System.out.println("Browser state could not be cleared: " + e.getMessage());
+        }
+    }
+
+    private static String originOf(String url) {
+        try {
+            URI uri = URI.create(url);
+            if (uri.getScheme() == null || uri.getHost() == null) {
+                return url;
+            }
+            return uri.getScheme() + "://" + uri.getHost() + (uri.getPort() == -1 ? "" : ":" + uri.getPort());
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    public String getReport() {
+        return "Browser state cache: hits=" + hits.sum()
+                + ", misses=" + misses.sum()
+                + ", invalidations=" + invalidations.sum()
+                + ", restoreMs=" + TimeUnit.NANOSECONDS.toMillis(restoreNanos.sum())
+                + ", savedMs=" + TimeUnit.NANOSECONDS.toMillis(savedNanos.sum());
+    }
+
+    private record Snapshot(Set<Cookie> cookies, Map<String, String> localStorage, Map<String, String> sessionStorage,
+                            String url, long capturedAtMillis, long setupNanos) {
+
+        private boolean isExpired(long ttlMillis) {
+            return System.currentTimeMillis() - capturedAtMillis > ttlMillis;
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package core.utilities;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.Map;
 import java.util.Properties;
+import java.util.TreeMap;
 public class ConfigurationReader {
     private static final Properties properties = new Properties();
     static {
@@ -17,4 +19,24 @@ public class ConfigurationReader {
     public static String getProperty(String keyword){
         return properties.getProperty(keyword);
     }
+
+    public static String getProperty(String keyword, String defaultValue){
+        return properties.getProperty(keyword, defaultValue);
+    }
+
+    public static int getIntProperty(String keyword, int defaultValue){
+        String value = properties.getProperty(keyword);
+        return value == null ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    // Every key starting with the prefix, with the prefix removed, in key order.
+    public static Map<String, String> getPropertiesWithPrefix(String prefix){
+        Map<String, String> matching = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(prefix)) {
+                matching.put(key.substring(prefix.length()), properties.getProperty(key));
+            }
+        }
+        return matching;
+    }
 }
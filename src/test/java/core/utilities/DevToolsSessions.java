@@ -0,0 +1,64 @@
+package core.utilities;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.HasDevTools;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+public class DevToolsSessions<T> {
+    // One kind of DevTools attachment (network tracker, resource blocker, ...) per browser session, keyed by the
+    // undecorated session. A failed attach is remembered as well, so a session without DevTools is tried once.
+    private static final List<DevToolsSessions<?>> registries = new CopyOnWriteArrayList<>();
+
+    private final Map<WebDriver, Optional<T>> sessions = new ConcurrentHashMap<>();
+    private final Function<WebDriver, T> attach;
+
+    private DevToolsSessions(Function<WebDriver, T> attach) {
+        this.attach = attach;
+    }
+
+    // The attach function returns null when the session does not support it.
+    public static <T> DevToolsSessions<T> register(Function<WebDriver, T> attach) {
+        DevToolsSessions<T> registry = new DevToolsSessions<>(attach);
+        registries.add(registry);
+        return registry;
+    }
+
+    // The session's attachment, attached on first use; null when DevTools is unavailable or attaching failed.
+    public T forDriver(WebDriver driver) {
+        WebDriver session = WebDriverUtils.unwrap(driver);
+        if (!(session instanceof HasDevTools)) {
+            return null;
+        }
+        return sessions.computeIfAbsent(session, s -> Optional.ofNullable(attach.apply(s))).orElse(null);
+    }
+
+    // The attachment only if the session already has one.
+    public T existing(WebDriver driver) {
+        Optional<T> attached = sessions.get(WebDriverUtils.unwrap(driver));
+        return attached == null ? null : attached.orElse(null);
+    }
+
+    // Drops every attachment of a session that is about to quit, and the DevTools listeners they added.
+    public static void detachAll(WebDriver driver) {
+        WebDriver session = WebDriverUtils.unwrap(driver);
+        boolean attached = false;
+        for (DevToolsSessions<?> registry : registries) {
+            Optional<?> attachment = registry.sessions.remove(session);
+            attached |= attachment != null && attachment.isPresent();
+        }
+        if (attached) {
+            try {
+                ((HasDevTools) session).getDevTools().clearListeners();
+            } catch (WebDriverException e) {
+                System.out.println("DevTools listeners could not be removed: " + e.getMessage());
+            }
+        }
+    }
+}
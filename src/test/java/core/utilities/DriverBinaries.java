@@ -0,0 +1,113 @@
+package core.utilities;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class DriverBinaries {
+    // Resolves the driver binary of a browser once per JVM. A driver.path.<browser> setting wins; otherwise the
+    // local index in drivers.cache.dir maps the installed browser's major version to a downloaded driver, so
+    // runs after the first one resolve without any network call. WebDriverManager only runs on a cache miss.
+    private static final Path cacheDirectory = Paths.get(ConfigurationReader.getProperty("drivers.cache.dir",
+            Paths.get(System.getProperty("user.home"), ".cache", "test-automation", "drivers").toString()));
+    private static final Path indexFile = cacheDirectory.resolve("driver-binaries.properties");
+    private static final Pattern majorVersion = Pattern.compile("(\\d+)\\.\\d+");
+    private static final Map<String, String> resolved = new ConcurrentHashMap<>();
+
+    // Sets the driver system property for the browser; later calls return the first result immediately.
+    public static String resolve(String browserType) {
+        return resolved.computeIfAbsent(browserType, DriverBinaries::resolveOnce);
+    }
+
+    private static String resolveOnce(String browserType) {
+        long start = System.nanoTime();
+        String driverProperty = browserType.equals("firefox") ? "webdriver.gecko.driver" : "webdriver.chrome.driver";
+        String configured = ConfigurationReader.getProperty("driver.path." + browserType);
+        if (configured != null && Files.isExecutable(Paths.get(configured.trim()))) {
+            System.setProperty(driverProperty, configured.trim());
+            return report(browserType, configured.trim(), "configured", start);
+        }
+        WebDriverManager manager = browserType.equals("firefox")
+                ? WebDriverManager.firefoxdriver()
+                : WebDriverManager.chromedriver();
+        Optional<String> browserVersion = manager.getBrowserPath().flatMap(DriverBinaries::versionOf);
+        String key = browserType + "." + browserVersion.orElse("unknown");
+        synchronized (DriverBinaries.class) {
+            Properties index = loadIndex();
+            String cached = index.getProperty(key);
+            if (browserVersion.isPresent() && cached != null && Files.isExecutable(Paths.get(cached))) {
+                System.setProperty(driverProperty, cached);
+                return report(browserType, cached, "cache hit for browser " + browserVersion.get(), start);
+            }
+            browserVersion.ifPresent(manager::browserVersion);
+            manager.setup();
+            String downloaded = manager.getDownloadedDriverPath();
+            if (browserVersion.isPresent() && downloaded != null) {
+                index.setProperty(key, downloaded);
+                saveIndex(index);
+            }
+            return report(browserType, downloaded, "resolved by WebDriverManager", start);
+        }
+    }
+
+    // Major version of the installed browser, from "<browser> --version".
+    private static Optional<String> versionOf(Path browser) {
+        try {
+            Process process = new ProcessBuilder(browser.toString(), "--version").redirectErrorStream(true).start();
+            String output;
+            try (InputStream in = process.getInputStream()) {
+                output = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            process.waitFor(10, TimeUnit.SECONDS);
+            Matcher matcher = majorVersion.matcher(output);
+            return matcher.find() ? Optional.of(matcher.group(1)) : Optional.empty();
+        } catch (IOException e) {
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
+    private static Properties loadIndex() {
+        Properties index = new Properties();
+        if (Files.exists(indexFile)) {
+            try (InputStream in = Files.newInputStream(indexFile)) {
+                index.load(in);
+            } catch (IOException e) {
+                System.out.println("Driver cache index could not be read: " + e.getMessage());
+            }
+        }
+        return index;
+    }
+
+    private static void saveIndex(Properties index) {
+        try {
+            Files.createDirectories(cacheDirectory);
+            try (OutputStream out = Files.newOutputStream(indexFile)) {
+                index.store(out, "Driver binaries by browser and major browser version, see DriverBinaries");
+            }
+        } catch (IOException e) {
+            System.out.println("Driver cache index could not be written: " + e.getMessage());
+        }
+    }
+
+    private static String report(String browserType, String path, String source, long start) {
+        System.out.println("Driver for " + browserType + ": " + path + " (" + source + ", "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms)");
+        return path;
+    }
+}
@@ -0,0 +1,268 @@
+package core.utilities;
+
+import core.utilities.metrics.CommandMetrics;
+import core.utilities.replay.StorefrontReplay;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public class DriverPool {
+    // Keeps a bounded number of live browser sessions that are leased per test and reset on release.
+    private static final DriverPool driverPool = new DriverPool(
+            ConfigurationReader.getIntProperty("driver.pool.size", 2),
+            ConfigurationReader.getIntProperty("driver.pool.lease.timeout.seconds", 60),
+            ConfigurationReader.getIntProperty("driver.prelaunch.count", 1));
+
+    private final LinkedBlockingDeque<WebDriver> idleSessions = new LinkedBlockingDeque<>();
+    private final AtomicInteger liveSessions = new AtomicInteger();
+    private final int maxSize;
+    private final long leaseTimeoutSeconds;
+    // Fresh sessions launched in the background while tests run, handed to the next cold lease or pool miss.
+    private final LinkedBlockingDeque<WebDriver> prelaunched = new LinkedBlockingDeque<>();
+    private final AtomicInteger launching = new AtomicInteger();
+    private final int prelaunchCount;
+    // Warm-only runs never lease a cold browser, so a pool miss there does not prelaunch one.
+    private final boolean coldConfigured = ConfigurationReader.getPropertiesWithPrefix("driver.isolation").values()
+            .stream().anyMatch(isolation -> "cold".equalsIgnoreCase(isolation.trim()));
+    private final ExecutorService launcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "browser-prelaunch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coldLeases = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder resets = new LongAdder();
+    private final LongAdder resetNanos = new LongAdder();
+    private final LongAdder prelaunchHits = new LongAdder();
+
+    DriverPool(int maxSize, long leaseTimeoutSeconds, int prelaunchCount) {
+        this.maxSize = Math.max(1, maxSize);
+        this.leaseTimeoutSeconds = leaseTimeoutSeconds;
+        this.prelaunchCount = Math.max(0, prelaunchCount);
+    }
+
+    public static DriverPool getDriverPool() {
+        return driverPool;
+    }
+
+    // Leases a session: a reset idle one if available, otherwise a new one while under the pool size.
+    public WebDriver lease(boolean cold) {
+        if (cold) {
+            coldLeases.increment();
+            WebDriver fresh = freshDriver();
+            prelaunch();
+            return fresh;
+        }
+        WebDriver driver = idleSessions.pollFirst();
+        if (driver != null) {
+            hits.increment();
+            return driver;
+        }
+        if (liveSessions.incrementAndGet() <= maxSize) {
+            misses.increment();
+            try {
+                WebDriver fresh = freshDriver();
+                if (coldConfigured) {
+                    prelaunch();
+                }
+                return fresh;
+            } catch (RuntimeException e) {
+                liveSessions.decrementAndGet();
+                throw e;
+            }
+        }
+        liveSessions.decrementAndGet();
+        try {
+            driver = idleSessions.pollFirst(leaseTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (driver == null) {
+            throw new IllegalStateException("No browser session was released within " + leaseTimeoutSeconds + " seconds.");
+        }
+        hits.increment();
+        return driver;
+    }
+
+    // Returns a session to the pool after a state reset; cold or broken sessions are quit instead.
+    public void release(WebDriver driver, boolean cold) {
+        if (driver == null) {
+            return;
+        }
+        if (cold) {
+            quietQuit(driver);
+            return;
+        }
+        if (resetSession(driver)) {
+            idleSessions.offerFirst(driver);
+        } else {
+            discarded.increment();
+            liveSessions.decrementAndGet();
+            quietQuit(driver);
+            // The next lease misses; its replacement starts launching now.
+            prelaunch();
+        }
+    }
+
+    // Clears cookies, storage and extra tabs, then goes back to the base url.
+    private boolean resetSession(WebDriver driver) {
+        long start = System.nanoTime();
+        try {
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            for (int i = 1; i < handles.size(); i++) {
+                driver.switchTo().window(handles.get(i)).close();
+            }
+            driver.switchTo().window(handles.get(0));
+            try {
+                ((JavascriptExecutor) driver).executeScript(
+                        "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            } catch (WebDriverException ignored) {
+                // Pages without storage access (about:blank, error pages) have nothing to clear.
+            }
+            driver.manage().deleteAllCookies();
+            driver.get(BaseInformation.getBaseUrl());
+            return true;
+        } catch (WebDriverException e) {
+            System.out.println("Browser session could not be reset: " + e.getMessage());
+            return false;
+        } finally {
+            resets.increment();
+            resetNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    // A prelaunched session when one is ready, otherwise a session launched now.
+    private WebDriver freshDriver() {
+        WebDriver driver = prelaunched.pollFirst();
+        if (driver != null) {
+            prelaunchHits.increment();
+            return driver;
+        }
+        return createDriver();
+    }
+
+    // Tops up the prelaunched sessions on the background thread. The demand signal is a cold lease, a discarded
+    // session or, when some class runs cold, a pool miss.
+    private synchronized void prelaunch() {
+        while (prelaunched.size() + launching.get() < prelaunchCount && !launcher.isShutdown()) {
+            launching.incrementAndGet();
+            launcher.execute(() -> {
+                try {
+                    prelaunched.offerLast(createDriver());
+                } catch (RuntimeException e) {
+                    System.out.println("Browser could not be prelaunched: " + e.getMessage());
+                } finally {
+                    launching.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    // A new session with the run's browser options (replay host rules, page load strategy, blocking profile),
+    // on the base url. BaseInformation creates its sessions here as well.
+    static WebDriver createDriver() {
+        WebDriver driver;
+        String browserType = ConfigurationReader.getProperty("browser", "chrome").toLowerCase();
+        switch (browserType) {
+            case "firefox":
+                DriverBinaries.resolve(browserType);
+                FirefoxOptions firefoxOptions = new FirefoxOptions();
+                firefoxOptions.setPageLoadStrategy(pageLoadStrategy());
+                driver = new FirefoxDriver(firefoxOptions);
+                break;
+            case "chrome":
+            default:
+                DriverBinaries.resolve("chrome");
+                ChromeOptions options = new ChromeOptions();
+                options.setPageLoadStrategy(pageLoadStrategy());
+                options.addArguments(StorefrontReplay.chromeArguments());
+                driver = new ChromeDriver(options);
+                break;
+        }
+        StorefrontReplay.onSessionCreated(driver);
+        driver = CommandMetrics.decorate(driver);
+        applyDefaultBlocking(driver);
+        driver.manage().window().maximize();
+        driver.get(BaseInformation.getBaseUrl());
+        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(5));
+        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(20));
+        driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(15));
+        return driver;
+    }
+
+    // The configured blocking profile is in place before the session's first request; tests only switch profiles.
+    private static void applyDefaultBlocking(WebDriver driver) {
+        String profile = ResourceBlocker.defaultProfile();
+        if ("none".equals(profile)) {
+            return;
+        }
+        ResourceBlocker blocker = ResourceBlocker.forDriver(driver);
+        if (blocker != null) {
+            blocker.apply(profile);
+        }
+    }
+
+    // Navigation returns at DOMContentLoaded (eager) or right away (none); the page objects' readiness contracts
+    // decide when a page can be used.
+    public static PageLoadStrategy pageLoadStrategy() {
+        return PageLoadStrategy.fromString(ConfigurationReader.getProperty("driver.page.load.strategy", "eager").trim());
+    }
+
+    private static void quietQuit(WebDriver driver) {
+        DevToolsSessions.detachAll(driver);
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    // Quits every idle and prelaunched session, called once at the end of the suite.
+    public void shutdown() {
+        launcher.shutdown();
+        try {
+            launcher.awaitTermination(60, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        WebDriver driver;
+        while ((driver = prelaunched.pollFirst()) != null) {
+            quietQuit(driver);
+        }
+        while ((driver = idleSessions.pollFirst()) != null) {
+            liveSessions.decrementAndGet();
+            quietQuit(driver);
+        }
+    }
+
+    public String getMetrics() {
+        long resetCount = resets.sum();
+        long averageResetMillis = resetCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(resetNanos.sum() / resetCount);
+        return "Driver pool: hits=" + hits.sum()
+                + ", misses=" + misses.sum()
+                + ", coldLeases=" + coldLeases.sum()
+                + ", prelaunchHits=" + prelaunchHits.sum()
+                + ", discarded=" + discarded.sum()
+                + ", resets=" + resetCount
+                + ", avgResetMs=" + averageResetMillis
+                + ", totalResetMs=" + TimeUnit.NANOSECONDS.toMillis(resetNanos.sum());
+    }
+}
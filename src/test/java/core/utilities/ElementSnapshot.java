@@ -0,0 +1,12 @@
+package core.utilities;
+
+import java.util.Map;
+
+// Everything read about one element by a single bulk script call in WebElementUtils.
+public record ElementSnapshot(String text, Map<String, String> attributes, boolean displayed,
+                              double x, double y, double width, double height) {
+
+    public String attribute(String name) {
+        return attributes.get(name);
+    }
+}
@@ -0,0 +1,28 @@
+package core.utilities;
+
+import java.util.function.Supplier;
+
+// Resolves a value, typically the thread's WebDriver, on first use and keeps it.
+// Page objects and utilities hold one of these, so constructing them never starts a browser.
+public class Lazy<T> implements Supplier<T> {
+    private final Supplier<? extends T> supplier;
+    private volatile T value;
+
+    private Lazy(Supplier<? extends T> supplier) {
+        this.supplier = supplier;
+    }
+
+    public static <T> Lazy<T> of(Supplier<? extends T> supplier) {
+        return new Lazy<>(supplier);
+    }
+
+    @Override
+    public T get() {
+        T current = value;
+        if (current == null) {
+            current = supplier.get();
+            value = current;
+        }
+        return current;
+    }
+}
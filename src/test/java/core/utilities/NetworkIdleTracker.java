@@ -0,0 +1,129 @@
+package core.utilities;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.v125.network.Network;
+import org.openqa.selenium.devtools.v125.network.model.ResourceType;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+public class NetworkIdleTracker {
+    // Counts in-flight document/XHR/fetch requests of one browser session through the DevTools Network domain.
+    private static final DevToolsSessions<NetworkIdleTracker> trackers = DevToolsSessions.register(NetworkIdleTracker::attach);
+    private static final Set<ResourceType> trackedTypes = EnumSet.of(ResourceType.DOCUMENT, ResourceType.XHR, ResourceType.FETCH);
+    // Requests that never report completion (e.g. long polling) stop counting after this long.
+    private static final long staleRequestNanos = TimeUnit.SECONDS.toNanos(30);
+    private static final int recentCompletions = 256;
+
+    private final Map<String, Request> inFlight = new HashMap<>();
+    private final ArrayDeque<Request> completed = new ArrayDeque<>();
+    private long sequence;
+
+    private NetworkIdleTracker() {
+    }
+
+    public static NetworkIdleTracker forDriver(WebDriver driver) {
+        return trackers.forDriver(driver);
+    }
+
+    private static NetworkIdleTracker attach(WebDriver driver) {
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            NetworkIdleTracker tracker = new NetworkIdleTracker();
+            devTools.addListener(Network.requestWillBeSent(), event -> {
+                if (trackedTypes.contains(event.getType().orElse(ResourceType.OTHER))) {
+                    tracker.started(event.getRequestId().toString(), event.getRequest().getUrl());
+                }
+            });
+            devTools.addListener(Network.loadingFinished(), event -> tracker.finished(event.getRequestId().toString()));
+            devTools.addListener(Network.loadingFailed(), event -> tracker.finished(event.getRequestId().toString()));
+            devTools.send(Network.enable(Optional.empty(), Optional.empty(), Optional.empty()));
+            return tracker;
+        } catch (WebDriverException e) {
+            System.out.println("Network idle tracking is not available: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private synchronized void started(String requestId, String url) {
+        inFlight.put(requestId, new Request(url, ++sequence, System.nanoTime()));
+        notifyAll();
+    }
+
+    private synchronized void finished(String requestId) {
+        Request request = inFlight.remove(requestId);
+        if (request == null) {
+            return;
+        }
+        if (completed.size() == recentCompletions) {
+            completed.removeFirst();
+        }
+        completed.addLast(new Request(request.url, request.sequence, System.nanoTime()));
+        notifyAll();
+    }
+
+    // Sequence number of the latest request, taken before an action so the wait can insist on a newer one.
+    public synchronized long mark() {
+        return sequence;
+    }
+
+    // Waits until no request matching the filter is in flight and none has finished for the quiet period.
+    // With afterMark >= 0, at least one matching request started after that mark must also have completed.
+    // A null filter matches every tracked request. Returns false when the timeout runs out first.
+    public synchronized boolean awaitIdle(Pattern urlFilter, long afterMark, Duration quietPeriod, Duration timeout) {
+        long quietNanos = quietPeriod.toNanos();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            long now = System.nanoTime();
+            long lastFinished = Long.MIN_VALUE;
+            boolean sawNewRequest = afterMark < 0;
+            boolean busy = false;
+            for (Request request : inFlight.values()) {
+                if (matches(urlFilter, request) && now - request.nanos < staleRequestNanos) {
+                    busy = true;
+                    break;
+                }
+            }
+            for (Request request : completed) {
+                if (matches(urlFilter, request)) {
+                    lastFinished = Math.max(lastFinished, request.nanos);
+                    sawNewRequest |= request.sequence > afterMark;
+                }
+            }
+            long quietLeft = lastFinished == Long.MIN_VALUE ? 0 : quietNanos - (now - lastFinished);
+            if (!busy && sawNewRequest && quietLeft <= 0) {
+                return true;
+            }
+            long timeLeft = deadline - now;
+            if (timeLeft <= 0) {
+                return false;
+            }
+            // Finishing requests notify the waiter; the cap only lets a leaked request go stale.
+            long waitNanos = busy || !sawNewRequest ? Math.min(timeLeft, TimeUnit.SECONDS.toNanos(1)) : Math.min(timeLeft, quietLeft);
+            try {
+                TimeUnit.NANOSECONDS.timedWait(this, Math.max(1, waitNanos));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    private static boolean matches(Pattern urlFilter, Request request) {
+        return urlFilter == null || urlFilter.matcher(request.url).find();
+    }
+
+    private record Request(String url, long sequence, long nanos) {
+    }
+}
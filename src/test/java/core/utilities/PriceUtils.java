@@ -0,0 +1,15 @@
+package core.utilities;
+
+public class PriceUtils {
+    // Storefront prices are shown as "$1,234.50"; currency signs and grouping commas are skipped in one pass.
+    public static double parsePrice(String priceText) {
+        StringBuilder digits = new StringBuilder(priceText.length());
+        for (int i = 0; i < priceText.length(); i++) {
+            char c = priceText.charAt(i);
+            if (c != '$' && c != ',') {
+                digits.append(c);
+            }
+        }
+        return Double.parseDouble(digits.toString().trim());
+    }
+}
@@ -0,0 +1,148 @@
+package core.utilities;
+
+import core.utilities.metrics.LatencyHistogram;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+public class ReadinessContract {
+    // The minimal conditions a page object needs before a test may use it. Sessions load pages with the eager
+    // (or none) strategy, so navigation returns early and the target page's contract decides when it is usable.
+    // All DOM and JS conditions are checked in one script call per poll, which returns the first unmet one.
+    private static final String checkScript = WebElementUtils.findElementsScript
+            + "if (document.readyState === 'loading') { return 'document parsed'; }"
+            + "var conditions = arguments[0];"
+            + "for (var i = 0; i < conditions.length; i++) {"
+            + "  var condition = conditions[i], met;"
+            + "  if (condition[0] === 'script') { met = !!(new Function(condition[2]))(); }"
+            + "  else {"
+            + "    var found = findElements(condition[1], condition[2]);"
+            + "    var displayed = found.filter(function (element) {"
+            + "      var rect = element.getBoundingClientRect(), style = window.getComputedStyle(element);"
+            + "      return rect.width > 0 && rect.height > 0 && style.visibility !== 'hidden' && style.display !== 'none';"
+            + "    }).length;"
+            + "    met = condition[0] === 'present' ? found.length > 0"
+            + "      : condition[0] === 'visible' ? displayed > 0 : displayed === 0;"
+            + "  }"
+            + "  if (!met) { return condition[3]; }"
+            + "}"
+            + "return null;";
+
+    private static final Map<String, LatencyHistogram> timesToReady = new ConcurrentHashMap<>();
+
+    private final String page;
+    private final List<List<String>> conditions = new ArrayList<>();
+    private boolean networkIdle;
+
+    private ReadinessContract(String page) {
+        this.page = page;
+    }
+
+    public static ReadinessContract forPage(Class<?> pageClass) {
+        return new ReadinessContract(pageClass.getSimpleName());
+    }
+
+    // For a page a page object reaches but does not model itself, recorded as PageClass.view.
+    public static ReadinessContract forPage(Class<?> pageClass, String view) {
+        return new ReadinessContract(pageClass.getSimpleName() + "." + view);
+    }
+
+    public ReadinessContract present(By locator) {
+        return element("present", locator);
+    }
+
+    public ReadinessContract visible(By locator) {
+        return element("visible", locator);
+    }
+
+    // No match is displayed, e.g. a loading mask.
+    public ReadinessContract absent(By locator) {
+        return element("absent", locator);
+    }
+
+    // A JS function body returning a truthy value once the page is usable.
+    public ReadinessContract script(String description, String functionBody) {
+        conditions.add(Arrays.asList("script", "", functionBody, description));
+        return this;
+    }
+
+    // No document, XHR or fetch request in flight for the quiet period; jQuery's counter without DevTools.
+    public ReadinessContract networkIdle() {
+        networkIdle = true;
+        return script("jQuery idle", "return window.jQuery === undefined || jQuery.active === 0;");
+    }
+
+    private ReadinessContract element(String state, By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            throw new IllegalArgumentException("Readiness conditions need a css, xpath or id locator: " + locator);
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        conditions.add(Arrays.asList(state, parameters.using(), String.valueOf(parameters.value()),
+                state + " " + locator));
+        return this;
+    }
+
+    // Waits until the contract holds, without recording a time to ready.
+    public void await(WebDriver driver) {
+        awaitConditions(driver, System.nanoTime());
+    }
+
+    // Waits until the contract holds and records the time since the navigation started for the page.
+    public void await(WebDriver driver, long navigationStartNanos) {
+        awaitConditions(driver, navigationStartNanos);
+        timesToReady.computeIfAbsent(page, name -> new LatencyHistogram())
+                .record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - navigationStartNanos));
+    }
+
+    private void awaitConditions(WebDriver driver, long startNanos) {
+        Duration timeout = Duration.ofSeconds(ConfigurationReader.getIntProperty("page.ready.timeout.seconds", 20));
+        String[] unmet = new String[1];
+        try {
+            new WebDriverWait(driver, timeout, Duration.ofMillis(50))
+                    .ignoring(JavascriptException.class)
+                    .until(webDriver -> {
+                        Object result = ((JavascriptExecutor) webDriver).executeScript(checkScript, conditions);
+                        unmet[0] = result == null ? null : result.toString();
+                        return result == null;
+                    });
+        } catch (TimeoutException e) {
+            throw new TimeoutException(page + " was not ready within " + timeout.toSeconds() + " s, waiting for: " + unmet[0], e);
+        }
+        if (networkIdle) {
+            NetworkIdleTracker tracker = NetworkIdleTracker.forDriver(driver);
+            Duration remaining = timeout.minusNanos(System.nanoTime() - startNanos);
+            if (tracker != null && !tracker.awaitIdle(null, -1, Duration.ofMillis(
+                    ConfigurationReader.getIntProperty("network.idle.quiet.millis", 300)),
+                    remaining.isNegative() ? Duration.ZERO : remaining)) {
+                throw new TimeoutException(page + " was not ready within " + timeout.toSeconds()
+                        + " s, waiting for: network idle");
+            }
+        }
+    }
+
+    public String getPage() {
+        return page;
+    }
+
+    public static String getReport() {
+        StringBuilder report = new StringBuilder("Time to ready (count p50/p95/max ms):");
+        new TreeMap<>(timesToReady).forEach((page, histogram) -> report.append(' ').append(page).append('=')
+                .append(histogram.getCount()).append(' ')
+                .append(histogram.percentile(0.5) / 1000).append('/')
+                .append(histogram.percentile(0.95) / 1000).append('/')
+                .append(histogram.getMaxMicros() / 1000));
+        return report.toString();
+    }
+}
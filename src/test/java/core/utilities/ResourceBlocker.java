@@ -0,0 +1,172 @@
+package core.utilities;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.v125.network.Network;
+import org.openqa.selenium.devtools.v125.network.model.ResourceType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+public class ResourceBlocker {
+    // Blocks resources no assertion depends on through DevTools URL-pattern blocking, per named profile.
+    private static final List<String> thirdPartyPatterns = Arrays.asList(
+            "*google-analytics.com*", "*googletagmanager.com*", "*doubleclick.net*", "*googlesyndication.com*",
+            "*googleadservices.com*", "*adservice.google.*", "*facebook.net*", "*facebook.com/tr*",
+            "*hotjar.com*", "*clarity.ms*", "*fonts.googleapis.com*", "*fonts.gstatic.com*");
+    private static final List<String> imagePatterns = Arrays.asList(
+            "*.png*", "*.jpg*", "*.jpeg*", "*.gif*", "*.webp*", "*.svg*", "*.ico*");
+    private static final List<String> fontAndMediaPatterns = Arrays.asList(
+            "*.woff*", "*.ttf*", "*.otf*", "*.eot*", "*.mp4*", "*.webm*");
+
+    // Used for bytes-saved estimates until a resource type has been downloaded unblocked at least once.
+    private static final Map<ResourceType, Long> defaultTypeBytes = Map.of(
+            ResourceType.IMAGE, 40_000L, ResourceType.FONT, 60_000L, ResourceType.SCRIPT, 50_000L,
+            ResourceType.STYLESHEET, 30_000L, ResourceType.MEDIA, 500_000L);
+
+    private static final DevToolsSessions<ResourceBlocker> blockers = DevToolsSessions.register(ResourceBlocker::attach);
+    private static final Map<ResourceType, LongAdder[]> downloadedBytesByType = new ConcurrentHashMap<>();
+    private static final LongAdder totalBlockedRequests = new LongAdder();
+    private static final LongAdder totalBytesSaved = new LongAdder();
+
+    private final DevTools devTools;
+    private final Map<String, ResourceType> pendingTypes = new ConcurrentHashMap<>();
+    private final LongAdder blockedRequests = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+    private volatile String profile = "none";
+
+    private ResourceBlocker(DevTools devTools) {
+        this.devTools = devTools;
+    }
+
+    public static ResourceBlocker forDriver(WebDriver driver) {
+        return blockers.forDriver(driver);
+    }
+
+    public static ResourceBlocker existing(WebDriver driver) {
+        return blockers.existing(driver);
+    }
+
+    private static ResourceBlocker attach(WebDriver driver) {
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            ResourceBlocker blocker = new ResourceBlocker(devTools);
+            devTools.addListener(Network.responseReceived(), event ->
+                    blocker.pendingTypes.put(event.getRequestId().toString(), event.getType()));
+            devTools.addListener(Network.loadingFinished(), event -> {
+                ResourceType type = blocker.pendingTypes.remove(event.getRequestId().toString());
+                if (type != null) {
+                    LongAdder[] downloaded = downloadedBytesByType.computeIfAbsent(type,
+                            t -> new LongAdder[]{new LongAdder(), new LongAdder()});
+                    downloaded[0].increment();
+                    downloaded[1].add(event.getEncodedDataLength().longValue());
+                }
+            });
+            devTools.addListener(Network.loadingFailed(), event -> {
+                blocker.pendingTypes.remove(event.getRequestId().toString());
+                if (event.getBlockedReason().isPresent()) {
+                    blocker.recordBlocked(event.getType());
+                }
+            });
+            devTools.send(Network.enable(Optional.empty(), Optional.empty(), Optional.empty()));
+            return blocker;
+        } catch (WebDriverException e) {
+            System.out.println("Resource blocking is not available: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Profile configured for a test class: blocking.profile.<ClassName>, then blocking.profile, then none.
+    public static String profileFor(Class<?> testClass) {
+        return ConfigurationReader.getProperty("blocking.profile." + testClass.getSimpleName(), defaultProfile()).trim();
+    }
+
+    // Profile every session starts with, before its first navigation.
+    public static String defaultProfile() {
+        return ConfigurationReader.getProperty("blocking.profile", "none").trim();
+    }
+
+    // URL patterns of a profile. Custom profiles are declared with blocking.patterns.<profile>=pattern,pattern
+    public static List<String> patternsFor(String profile) {
+        String custom = ConfigurationReader.getProperty("blocking.patterns." + profile);
+        if (custom != null) {
+            return Arrays.stream(custom.split(","))
+                    .map(String::trim)
+                    .filter(pattern -> !pattern.isEmpty())
+                    .collect(Collectors.toList());
+        }
+        switch (profile) {
+            case "none":
+                return Collections.emptyList();
+            case "no-third-party":
+                return thirdPartyPatterns;
+            case "no-images":
+                return imagePatterns;
+            case "text-only":
+                List<String> patterns = new ArrayList<>(thirdPartyPatterns);
+                patterns.addAll(imagePatterns);
+                patterns.addAll(fontAndMediaPatterns);
+                return patterns;
+            default:
+                throw new IllegalArgumentException("Unknown resource blocking profile: " + profile);
+        }
+    }
+
+    // Switches the session to the profile and starts counting from zero for the next test.
+    public void apply(String newProfile) {
+        if (!newProfile.equals(profile)) {
+            devTools.send(Network.setBlockedURLs(patternsFor(newProfile)));
+            profile = newProfile;
+        }
+        blockedRequests.reset();
+        bytesSaved.reset();
+    }
+
+    private void recordBlocked(ResourceType type) {
+        long estimate = estimatedBytes(type);
+        blockedRequests.increment();
+        bytesSaved.add(estimate);
+        totalBlockedRequests.increment();
+        totalBytesSaved.add(estimate);
+    }
+
+    private static long estimatedBytes(ResourceType type) {
+        LongAdder[] downloaded = downloadedBytesByType.get(type);
+        if (downloaded != null && downloaded[0].sum() > 0) {
+            return downloaded[1].sum() / downloaded[0].sum();
+        }
+        return defaultTypeBytes.getOrDefault(type, 10_000L);
+    }
+
+    public String getProfile() {
+        return profile;
+    }
+
+    public long getBlockedRequests() {
+        return blockedRequests.sum();
+    }
+
+    public long getBytesSaved() {
+        return bytesSaved.sum();
+    }
+
+    public String getReport() {
+        return "Resource blocking [" + profile + "]: blocked=" + getBlockedRequests()
+                + ", estimatedKbSaved=" + getBytesSaved() / 1024;
+    }
+
+    public static String getSuiteReport() {
+        return "Resource blocking: blocked=" + totalBlockedRequests.sum()
+                + ", estimatedKbSaved=" + totalBytesSaved.sum() / 1024;
+    }
+}
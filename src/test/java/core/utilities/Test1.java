@@ -1,35 +1,235 @@
 package core.utilities;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import core.globals.TestData;
+import core.pages.LoginPage;
+import core.utilities.accounts.AccountPool;
+import core.utilities.artifacts.FailureArtifacts;
+import core.utilities.accounts.CartItem;
+import core.utilities.accounts.StorefrontBackend;
+import core.utilities.history.ResultsHistoryListener;
+import core.utilities.logs.BrowserLogEntry;
+import core.utilities.logs.BrowserLogRecorder;
+import core.utilities.metrics.CommandMetrics;
+import core.utilities.replay.StorefrontReplay;
+import core.utilities.webperf.PerformanceBudgets;
+import core.utilities.webperf.WebPerformanceCollector;
+import core.utilities.webperf.WebPerformanceReport;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
+import org.testng.IHookCallBack;
+import org.testng.IHookable;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+import org.testng.SkipException;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
 
-import java.util.concurrent.TimeUnit;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
 
-public class Test1 {
-    // Base test class for setting up and tearing down WebDriver.
-    protected WebDriver driver;
+public class Test1 implements IHookable {
+    // Base test class for leasing and releasing a WebDriver session from the pool.
+    // Sessions are held per thread, so the same test instance can run methods in parallel.
+    private final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+    private final ThreadLocal<Boolean> coldBrowser = ThreadLocal.withInitial(() -> false);
 
-    // Sets up the WebDriver before each test method.
+    // Leases a WebDriver session before each test method.
     @BeforeMethod
-    public void setup() {
-        WebDriverManager.chromedriver().setup();
-        driver = new ChromeDriver();
+    public void setup(Method method) {
+        long started = System.nanoTime();
+        CommandMetrics.setTestMethod(getClass().getSimpleName() + "." + method.getName());
+        coldBrowser.set(isColdBrowserRequired());
+        WebDriver leased = DriverPool.getDriverPool().lease(coldBrowser.get());
+        // Armed right after the lease: the first command may come from this setup or the tests' own @BeforeMethod.
+        CommandMetrics.awaitFirstCommand(started);
+        driver.set(leased);
+        BaseInformation.setDriver(leased);
+        applyResourceBlocking(leased);
+        BrowserLogRecorder logRecorder = BrowserLogRecorder.forDriver(leased);
+        if (logRecorder != null) {
+            logRecorder.start();
+        }
+        WebPerformanceCollector collector = WebPerformanceCollector.forDriver(leased);
+        if (collector != null) {
+            collector.start(leased);
+        }
+    }
+
+    // Runs the test method and measures its time to first command. While the browser still shows the outcome it
+    // then fails a passed test on browser errors (browser.logs.fail.level), attaches the pages' web performance,
+    // failing a passed test over budget, and captures failure artifacts. Status changes have to happen here,
+    // TestNG ignores them in @AfterMethod.
+    @Override
+    public void run(IHookCallBack callBack, ITestResult result) {
+        callBack.runTestMethod(result);
+        long timeToFirstCommand = CommandMetrics.takeTimeToFirstCommandMillis();
+        if (timeToFirstCommand >= 0) {
+            result.setAttribute(CommandMetrics.timeToFirstCommandAttribute, timeToFirstCommand);
+            Reporter.log("Time to first command: " + timeToFirstCommand + " ms");
+        }
+        // Set before TestNG notifies the listeners, so the streaming reporter sees the steps.
+        result.setAttribute(ResultsHistoryListener.pageStepsAttribute, CommandMetrics.drainPageSteps());
+        WebDriver leased = getDriver();
+        BrowserLogRecorder logRecorder = leased == null ? null : BrowserLogRecorder.existing(leased);
+        if (logRecorder != null && result.getThrowable() == null) {
+            List<BrowserLogEntry> browserErrors = logRecorder.failuresSinceStart();
+            if (!browserErrors.isEmpty()) {
+                result.setStatus(ITestResult.FAILURE);
+                result.setThrowable(new AssertionError("Browser logged " + browserErrors.size() + " error(s), first: "
+                        + browserErrors.get(0)));
+            }
+        }
+        WebPerformanceCollector collector = leased == null ? null : WebPerformanceCollector.forDriver(leased);
+        if (collector != null) {
+            WebPerformanceReport report = collector.collect(leased);
+            result.setAttribute(WebPerformanceCollector.reportAttribute, report);
+            Reporter.log(report.format());
+            List<String> violations = report.budgetViolations(PerformanceBudgets.getBudgets());
+            if (!violations.isEmpty() && result.getThrowable() == null) {
+                result.setStatus(ITestResult.FAILURE);
+                result.setThrowable(new AssertionError("Web performance budget exceeded: " + String.join(", ", violations)));
+            }
+        }
+        // Last, so a test failed by any of the checks above gets its artifacts too.
+        if (leased != null && result.getThrowable() != null) {
+            if (logRecorder != null) {
+                logBrowserEntries(logRecorder);
+            }
+            Path artifacts = FailureArtifacts.getFailureArtifacts().capture(leased,
+                    getClass().getSimpleName() + "." + result.getMethod().getMethodName(), result.getThrowable());
+            Reporter.log("<a href=\"" + artifacts.toUri() + "\">Failure artifacts</a>");
+        }
+    }
 
-        driver.manage().window().maximize();
-        driver.get("https://magento.softwaretestingboard.com/");
-        driver.manage().timeouts().implicitlyWait(5, TimeUnit.SECONDS);
-        driver.manage().timeouts().pageLoadTimeout(20, TimeUnit.SECONDS);
-        driver.manage().timeouts().setScriptTimeout(15, TimeUnit.SECONDS);
+    // The last entries the browser logged during a failed test, escaped for the HTML reports.
+    private void logBrowserEntries(BrowserLogRecorder logRecorder) {
+        List<BrowserLogEntry> entries = logRecorder.entriesSinceStart(BrowserLogEntry.Level.DEBUG,
+                ConfigurationReader.getIntProperty("browser.logs.dump.size", 50));
+        if (entries.isEmpty()) {
+            return;
+        }
+        StringBuilder dump = new StringBuilder("Browser log (last " + entries.size() + " entries");
+        if (logRecorder.overwrittenSinceStart() > 0) {
+            dump.append(", ").append(logRecorder.overwrittenSinceStart()).append(" older ones overwritten");
+        }
+        dump.append("):");
+        for (BrowserLogEntry entry : entries) {
+            dump.append("<br>").append(entry.toString().replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;"));
+        }
+        Reporter.log(dump.toString());
     }
 
-    // Tears down the WebDriver after each test method.
-    @AfterMethod
-    public void teardown() {
-        if (driver != null) {
-            driver.quit();
+    // Returns the WebDriver session to the pool after each test method.
+    @AfterMethod(alwaysRun = true)
+    public void teardown(ITestResult result) {
+        WebDriver leased = driver.get();
+        if (leased != null) {
+            ResourceBlocker blocker = ResourceBlocker.existing(leased);
+            if (blocker != null && !"none".equals(blocker.getProfile())) {
+                Reporter.log(blocker.getReport());
+            }
+            DriverPool.getDriverPool().release(leased, coldBrowser.get());
         }
+        driver.remove();
+        coldBrowser.remove();
+        BaseInformation.removeDriver();
+        TestData.reset();
+        AccountPool.getAccountPool().release();
+        CommandMetrics.clearTestMethod();
+    }
+
+    // Quits the pooled sessions and prints the pool metrics once the suite is done.
+    @AfterSuite(alwaysRun = true)
+    public void shutdownDriverPool() {
+        StorefrontReplay.shutdown();
+        DriverPool.getDriverPool().shutdown();
+        System.out.println(DriverPool.getDriverPool().getMetrics());
+        System.out.println(BrowserStateCache.getBrowserStateCache().getReport());
+        System.out.println(WaitUtils.getWaitMetrics());
+        System.out.println(ResourceBlocker.getSuiteReport());
+        AccountPool.getAccountPool().shutdown();
+        System.out.println(AccountPool.getAccountPool().getReport());
+        System.out.println(CommandMetrics.getReport());
+        System.out.println(ReadinessContract.getReport());
+        FailureArtifacts.getFailureArtifacts().flush();
+        System.out.println(FailureArtifacts.getFailureArtifacts().getReport());
+        try {
+            CommandMetrics.export(Paths.get("test-output"));
+        } catch (IOException e) {
+            System.out.println("Command latency could not be exported: " + e.getMessage());
+        }
+    }
+
+    // Returns the WebDriver session owned by the current test thread.
+    protected WebDriver getDriver() {
+        return driver.get();
+    }
+
+    // Replays the cached browser state for a setup path such as "logged in as X", or runs the setup once to create it.
+    protected void restoreOrRun(String setupPath, Runnable setup, Predicate<WebDriver> validator) {
+        BrowserStateCache.getBrowserStateCache().restoreOrRun(getDriver(), setupPath, setup, validator);
+    }
+
+    // Logs in as the thread's test account, restoring the cached session when there is one.
+    // Returns whether the user is logged in afterwards.
+    protected boolean signInCached() {
+        LoginPage loginPage = new LoginPage(getDriver());
+        TestData testData = TestData.getTestData();
+        restoreOrRun("logged in as " + testData.getEmail(), () -> {
+            loginPage.openLoginPage();
+            loginPage.login(testData.getEmail(), testData.getPassword());
+        }, driver -> loginPage.isUserLoggedIn());
+        return loginPage.isUserLoggedIn();
+    }
+
+    // Sets the test account's cart to exactly these items through the backend, instead of adding them in the UI.
+    protected void seedCart(CartItem... items) {
+        seedingBackend().setCart(TestData.getTestData().getAccount(), Arrays.asList(items));
+        invalidateCustomerData();
+    }
+
+    // Sets the test account's wishlist to exactly these items through the backend.
+    protected void seedWishlist(CartItem... items) {
+        seedingBackend().setWishlist(TestData.getTestData().getAccount(), Arrays.asList(items));
+        invalidateCustomerData();
+    }
+
+    // Tests that depend on seeded items are skipped when the backend cannot put them on the browser's storefront.
+    private StorefrontBackend seedingBackend() {
+        StorefrontBackend backend = AccountPool.getAccountPool().getBackend();
+        if (!backend.seedsStorefront()) {
+            throw new SkipException("The '" + backend.getName() + "' accounts backend cannot seed the storefront"
+                    + " the browser uses; run with accounts.backend=rest against the live site.");
+        }
+        return backend;
+    }
+
+    // Magento caches the cart and wishlist sections in local storage; without this cookie it reloads them.
+    private void invalidateCustomerData() {
+        getDriver().manage().deleteCookieNamed("mage-cache-sessid");
+    }
+
+    // Switches to the blocking profile configured for this test class. New sessions start with blocking.profile
+    // already applied; a reused one switches back from the previous test class's profile here.
+    private void applyResourceBlocking(WebDriver leased) {
+        String profile = ResourceBlocker.profileFor(getClass());
+        ResourceBlocker blocker = "none".equals(profile)
+                ? ResourceBlocker.existing(leased)
+                : ResourceBlocker.forDriver(leased);
+        if (blocker != null) {
+            blocker.apply(profile);
+        }
+    }
+
+    // A test class gets a fresh browser when configured with driver.isolation.<ClassName>=cold
+    protected boolean isColdBrowserRequired() {
+        String isolation = ConfigurationReader.getProperty("driver.isolation." + getClass().getSimpleName(),
+                ConfigurationReader.getProperty("driver.isolation", "pooled"));
+        return "cold".equalsIgnoreCase(isolation.trim());
     }
-}
\ No newline at end of file
+}
@@ -6,13 +6,69 @@ import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 public class WaitUtils {
+    // Longest single in-page wait, kept below the session script timeout.
+    private static final long maxScriptWaitMillis = 5000;
+
+    // Counts DOM mutations in the page and resolves as soon as one happens after the caller's last seen count.
+    // A negative count only installs the observer and returns the current count. The count starts at a random
+    // value so a wait that spans a navigation never mistakes the fresh page's count for the one it has seen.
+    private static final String awaitMutationScript =
+            "var seen = arguments[0], timeout = arguments[1], done = arguments[arguments.length - 1];"
+                    + "var state = window.__waitUtils;"
+                    + "if (!state) {"
+                    + "  state = window.__waitUtils = {count: Math.floor(Math.random() * 1e9), waiters: []};"
+                    + "  new MutationObserver(function () {"
+                    + "    state.count++; var waiters = state.waiters; state.waiters = [];"
+                    + "    waiters.forEach(function (w) { w(); });"
+                    + "  }).observe(document, {childList: true, subtree: true, attributes: true, characterData: true});"
+                    + "}"
+                    + "if (seen < 0 || state.count !== seen) { done(state.count); return; }"
+                    + "var finished = false;"
+                    + "var finish = function () { if (!finished) { finished = true; done(state.count); } };"
+                    + "state.waiters.push(finish);"
+                    + "setTimeout(finish, timeout);";
+
+    // Resolves when the element has the attribute, or after the timeout with the attribute's final state.
+    private static final String awaitAttributeScript =
+            "var element = arguments[0], name = arguments[1], timeout = arguments[2], done = arguments[arguments.length - 1];"
+                    + "if (element.hasAttribute(name)) { done(true); return; }"
+                    + "var timer, observer = new MutationObserver(function () {"
+                    + "  if (element.hasAttribute(name)) { observer.disconnect(); clearTimeout(timer); done(true); }"
+                    + "});"
+                    + "observer.observe(element, {attributes: true, attributeFilter: [name]});"
+                    + "timer = setTimeout(function () { observer.disconnect(); done(element.hasAttribute(name)); }, timeout);";
+
+    private static final Map<String, WaitLatency> waitLatencies = new ConcurrentHashMap<>();
+
     private BaseInformation baseInformation;
     private Duration defaultDuration;
 
-    private WebDriver driver = BaseInformation.getDriver();
+    // The thread's driver is only looked up on the first wait.
+    private final Supplier<WebDriver> driver;
     public WaitUtils(BaseInformation baseInformation, Duration defaultDuration) {
+        this(Lazy.of(BaseInformation::getDriver), baseInformation, defaultDuration);
+    }
+
+    // For page objects that already hold their driver.
+    public WaitUtils(WebDriver driver, Duration defaultDuration) {
+        this(() -> driver, BaseInformation.getBaseInformation(), defaultDuration);
+    }
+
+    public WaitUtils(Supplier<WebDriver> driver, Duration defaultDuration) {
+        this(driver, BaseInformation.getBaseInformation(), defaultDuration);
+    }
+
+    private WaitUtils(Supplier<WebDriver> driver, BaseInformation baseInformation, Duration defaultDuration) {
+        this.driver = driver;
         this.baseInformation = baseInformation;
         this.defaultDuration = defaultDuration;
     }
@@ -26,21 +82,21 @@ public class WaitUtils {
     }
 
     public WebElement waitForElementVisibleWithCustomTime(long mills, By locator) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofMillis(mills));
+        WebDriverWait wait = new WebDriverWait(driver.get(), Duration.ofMillis(mills));
 
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return timed("visible", () -> wait.until(ExpectedConditions.visibilityOfElementLocated(locator)));
     }
 
     public WebElement waitForElementVisibleWithCustomTime(long mills, WebElement element) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofMillis(mills));
+        WebDriverWait wait = new WebDriverWait(driver.get(), Duration.ofMillis(mills));
 
-        return wait.until(ExpectedConditions.visibilityOf(element));
+        return timed("visible", () -> wait.until(ExpectedConditions.visibilityOf(element)));
     }
 
     public WebElement waitForElementclicableWithCustomTime(long mills, WebElement element) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofMillis(mills));
+        WebDriverWait wait = new WebDriverWait(driver.get(), Duration.ofMillis(mills));
 
-        return wait.until(ExpectedConditions.elementToBeClickable(element));
+        return timed("clickable", () -> wait.until(ExpectedConditions.elementToBeClickable(element)));
     }
 
     public WebElement waitForElementClickable(WebElement element) {
@@ -55,17 +111,29 @@ public class WaitUtils {
         return waitForElementVisibleWithCustomTime(defaultDuration.toMillis(), locator);
     }
 
+    // Returns as soon as the attribute appears; gives up silently when it does not appear in time.
     public void waitForAttributePresentWithCustomWaitTime(long mills, WebElement element,
                                                           String nameOfAttribute) {
-        int milsWaitStep = 500;
-        long numberOfLoops = mills / milsWaitStep;
-        for (int i = 0; i < numberOfLoops; i++) {
-            try {
-                element.getAttribute(nameOfAttribute);
-            } catch (Exception ex) {
-                waitFor(milsWaitStep);
+        timed("attribute", () -> {
+            long deadline = System.currentTimeMillis() + mills;
+            long mutationCount = -1;
+            while (true) {
+                long remaining = deadline - System.currentTimeMillis();
+                try {
+                    Object present = ((JavascriptExecutor) driver.get()).executeAsyncScript(awaitAttributeScript,
+                            element, nameOfAttribute, Math.max(0, Math.min(remaining, maxScriptWaitMillis)));
+                    if (Boolean.TRUE.equals(present)) {
+                        return null;
+                    }
+                } catch (NoSuchElementException | StaleElementReferenceException ex) {
+                    // The element is not in the page yet; wait for the DOM to change and look again.
+                    mutationCount = awaitDomMutation(mutationCount, remaining);
+                }
+                if (System.currentTimeMillis() >= deadline) {
+                    return null;
+                }
             }
-        }
+        });
     }
 
     public void waitForAttributePresent(WebElement element, String nameOfAttribute) {
@@ -73,39 +141,90 @@ public class WaitUtils {
     }
 
     public List<WebElement> waitForAllElementsVisible(List<WebElement> elements) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofMillis(defaultDuration.toMillis()));
+        WebDriverWait wait = new WebDriverWait(driver.get(), Duration.ofMillis(defaultDuration.toMillis()));
 
-        wait.until(ExpectedConditions.visibilityOfAllElements(elements));
+        timed("allVisible", () -> wait.until(ExpectedConditions.visibilityOfAllElements(elements)));
         return elements;
     }
 
 
     public void waitForElementAbsent(WebElement element) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofMillis(defaultDuration.toMillis()));
+        WebDriverWait wait = new WebDriverWait(driver.get(), Duration.ofMillis(defaultDuration.toMillis()));
 
-        wait.until(ExpectedConditions.invisibilityOf(element));
+        timed("absent", () -> wait.until(ExpectedConditions.invisibilityOf(element)));
     }
 
 
 
+    // Re-checks the element only when the page DOM has changed instead of sleeping a fixed step.
     public WebElement waitForElementPresent(long mills, WebElement element) {
-        int milsWaitStep = 500;
-        long numberOfLoops = mills / milsWaitStep;
-        for (int i = 0; i < numberOfLoops; i++) {
-            try {
-                element.getLocation();
-                return element;
-            } catch (Exception ex) {
-                waitFor(milsWaitStep);
+        return timed("present", () -> {
+            long deadline = System.currentTimeMillis() + mills;
+            long mutationCount = -1;
+            while (true) {
+                try {
+                    element.getLocation();
+                    return element;
+                } catch (Exception ex) {
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        throw new AssertionError("Target element absent");
+                    }
+                    mutationCount = awaitDomMutation(mutationCount, remaining);
+                }
             }
-        }
-        throw new AssertionError("Target element absent");
+        });
     }
 
     public WebElement waitForElementPresent(WebElement element) {
-        waitForElementPresent(30000, element);
-        waitFor(1000);
-        return element;
+        return waitForElementPresent(30000, element);
+    }
+
+    // Blocks until the page reports a DOM mutation newer than the given count, and returns the new count.
+    private long awaitDomMutation(long seenCount, long remainingMillis) {
+        try {
+            Object count = ((JavascriptExecutor) driver.get()).executeAsyncScript(awaitMutationScript,
+                    seenCount, Math.max(0, Math.min(remainingMillis, maxScriptWaitMillis)));
+            return count instanceof Number ? ((Number) count).longValue() : -1;
+        } catch (ScriptTimeoutException | JavascriptException ex) {
+            return -1;
+        }
+    }
+
+    private static <T> T timed(String kind, Supplier<T> wait) {
+        long start = System.nanoTime();
+        try {
+            return wait.get();
+        } finally {
+            waitLatencies.computeIfAbsent(kind, k -> new WaitLatency()).record(System.nanoTime() - start);
+        }
+    }
+
+    // Observed wait latency per kind of wait, printed at the end of the suite.
+    public static String getWaitMetrics() {
+        StringBuilder metrics = new StringBuilder("Wait latency:");
+        new TreeMap<>(waitLatencies).forEach((kind, latency) -> metrics.append(' ').append(kind).append(latency));
+        return metrics.toString();
+    }
+
+    private static final class WaitLatency {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        @Override
+        public String toString() {
+            long waits = count.sum();
+            long averageMillis = waits == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos.sum() / waits);
+            return "[count=" + waits + ", avgMs=" + averageMillis
+                    + ", maxMs=" + TimeUnit.NANOSECONDS.toMillis(maxNanos.get()) + "]";
+        }
     }
 
 }
@@ -1,8 +1,12 @@
 package core.utilities;
 
+import core.utilities.logs.BrowserLogEntry;
+import core.utilities.logs.BrowserLogRecorder;
 import org.openqa.selenium.Dimension;
 import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WrapsDriver;
 import org.openqa.selenium.logging.LogEntries;
 
 import java.util.ArrayList;
@@ -15,7 +19,15 @@ public class WebDriverUtils {
 
   BaseInformation baseInformation;
 
+  // Reads the session's log recorder when one is attached; otherwise pulls the driver's "browser" log.
   public static List<String> getBrowserLogs(BaseInformation baseInformation) {
+    BrowserLogRecorder recorder = BrowserLogRecorder.existing(baseInformation.getDriver());
+    if (recorder != null) {
+      return recorder.allEntries()
+          .stream()
+          .map(BrowserLogEntry::toString)
+          .collect(Collectors.toList());
+    }
     LogEntries logEntries = null;
     try{
       logEntries = baseInformation.getDriver()
@@ -30,6 +42,14 @@ public class WebDriverUtils {
         .collect(Collectors.toList());
   }
 
+  // The browser session behind a decorated driver; per-session registries key on this.
+  public static WebDriver unwrap(WebDriver driver) {
+    while (driver instanceof WrapsDriver) {
+      driver = ((WrapsDriver) driver).getWrappedDriver();
+    }
+    return driver;
+  }
+
   public static void maximizeWindowOfDriver(BaseInformation baseInformation) {
     baseInformation.getDriver()
         .manage()
@@ -4,17 +4,89 @@ import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 public class WebElementUtils {
-    WebDriver driver = BaseInformation.getDriver();
+    // Resolves a W3C locator strategy inside the page, so a whole list can be read in one script call.
+    // The "elements" strategy takes already located elements for locators without remote parameters.
+    static final String findElementsScript =
+            "var findElements = function (using, value, root) {"
+                    + "  root = root || document;"
+                    + "  if (using === 'elements') { return value; }"
+                    + "  if (using === 'css selector') { return Array.prototype.slice.call(root.querySelectorAll(value)); }"
+                    + "  if (using === 'tag name') { return Array.prototype.slice.call(root.getElementsByTagName(value)); }"
+                    + "  if (using === 'xpath') {"
+                    + "    var result = document.evaluate(value, root, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null), found = [];"
+                    + "    for (var i = 0; i < result.snapshotLength; i++) { found.push(result.snapshotItem(i)); }"
+                    + "    return found;"
+                    + "  }"
+                    + "  var links = Array.prototype.slice.call(root.getElementsByTagName('a'));"
+                    + "  return links.filter(function (a) { var text = (a.innerText || '').trim();"
+                    + "    return using === 'link text' ? text === value : text.indexOf(value) !== -1; });"
+                    + "};";
+
+    private static final String readElementsScript = findElementsScript
+            + "var names = arguments[2];"
+            + "return findElements(arguments[0], arguments[1]).map(function (element) {"
+            + "  var rect = element.getBoundingClientRect(), style = window.getComputedStyle(element), attributes = {};"
+            + "  names.forEach(function (name) { attributes[name] = element.getAttribute(name); });"
+            + "  return {text: (element.innerText || '').trim(), attributes: attributes,"
+            + "    displayed: rect.width > 0 && rect.height > 0 && style.visibility !== 'hidden' && style.display !== 'none',"
+            + "    x: rect.left + window.scrollX, y: rect.top + window.scrollY, width: rect.width, height: rect.height};"
+            + "});";
+
+    // Sets every field through the native value setter and fires the events knockout and Magento validation listen to.
+    // Returns the indexes of the fields that were not found.
+    private static final String fillFieldsScript = findElementsScript
+            + "var fields = arguments[0], missing = [];"
+            + "fields.forEach(function (field, index) {"
+            + "  var element = findElements(field[0], field[1])[0];"
+            + "  if (!element) { missing.push(index); return; }"
+            + "  var prototype = element instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype"
+            + "    : element instanceof HTMLSelectElement ? HTMLSelectElement.prototype : HTMLInputElement.prototype;"
+            + "  Object.getOwnPropertyDescriptor(prototype, 'value').set.call(element, field[2]);"
+            + "  ['input', 'change', 'keyup'].forEach(function (type) {"
+            + "    element.dispatchEvent(new Event(type, {bubbles: true}));"
+            + "  });"
+            + "});"
+            + "return missing;";
+
+    // Rendered text (innerText, as getText reads it) with the rendered text of every descendant removed,
+    // the same derivation getTextWithoutSubElements always used, in one script call instead of one getText per element.
+    private static final String ownTextScript =
+            "var element = arguments[0], text = (element.innerText || '').trim();"
+                    + "Array.prototype.forEach.call(element.querySelectorAll('*'), function (sub) {"
+                    + "  var subText = (sub.innerText || '').trim();"
+                    + "  if (subText) { text = text.split(subText).join(''); }"
+                    + "});"
+                    + "return text;";
+
+    // The thread's driver is only looked up on the first interaction.
+    private final Supplier<WebDriver> driver;
 
     private final BaseInformation baseInformation;
     private final WaitUtils waitUtils;
 
 
     public WebElementUtils(BaseInformation baseInformation, Duration defaultDuration) {
+        this.driver = Lazy.of(BaseInformation::getDriver);
         this.baseInformation = baseInformation;
-        this.waitUtils = new WaitUtils(baseInformation, defaultDuration);
+        this.waitUtils = new WaitUtils(this.driver, defaultDuration);
+    }
+
+    // For page objects that already hold their driver.
+    public WebElementUtils(WebDriver driver, Duration defaultDuration) {
+        this.driver = () -> driver;
+        this.baseInformation = BaseInformation.getBaseInformation();
+        this.waitUtils = new WaitUtils(driver, defaultDuration);
     }
 
     public void clickWebElement(WebElement webElement) {
@@ -23,40 +95,121 @@ public class WebElementUtils {
     }
 
     public void javaScriptClick(WebElement webElement) {
-        JavascriptExecutor executor = (JavascriptExecutor)driver;
+        JavascriptExecutor executor = (JavascriptExecutor) driver.get();
         executor.executeScript("arguments[0].click();", webElement);
     }
 
     public void moveMouseToElement(WebElement element) {
-        new Actions(driver)
+        new Actions(driver.get())
                 .moveToElement(element)
                 .perform();
         WaitUtils.waitFor(5000);
     }
 
     public void scrollToElement(WebElement element) {
-        ((JavascriptExecutor) driver)
+        ((JavascriptExecutor) driver.get())
                 .executeScript("arguments[0].scrollIntoView(true);", element);
     }
 
     public void scrollOffset(int x, int y) {
-        ((JavascriptExecutor) driver)
+        ((JavascriptExecutor) driver.get())
                 .executeScript("window.scrollBy(arguments[0],arguments[1])", x, y);
     }
 
     public void scrollToBottomOfPage() {
-        ((JavascriptExecutor) driver)
+        ((JavascriptExecutor) driver.get())
                 .executeScript("window.scrollTo(0, document.body.scrollHeight);");
     }
 
+    // The element's visible text without the visible text of its child elements, read in one script call.
     public String getTextWithoutSubElements(WebElement element) {
-        String fullText = element.getText()
-                .trim();
-        for (WebElement subElement : element.findElements(By.xpath(".//*"))) {
-            fullText = fullText.replace(subElement.getText().trim(), "");
+        Object ownText = ((JavascriptExecutor) driver.get()).executeScript(ownTextScript, element);
+        return ownText == null ? "" : ownText.toString().replaceAll("\n", "");
+    }
+
+    // Reads text, the requested attributes, visibility and bounding box of every match in one script call.
+    @SuppressWarnings("unchecked")
+    public List<ElementSnapshot> readAll(By locator, String... attributeNames) {
+        Object[] strategy = remoteStrategy(locator, false);
+        List<Map<String, Object>> rows = (List<Map<String, Object>>) ((JavascriptExecutor) driver.get())
+                .executeScript(readElementsScript, strategy[0], strategy[1], Arrays.asList(attributeNames));
+        if (rows == null) {
+            return Collections.emptyList();
+        }
+        List<ElementSnapshot> snapshots = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            Map<String, String> attributes = new HashMap<>();
+            ((Map<String, Object>) row.get("attributes")).forEach((name, attribute) ->
+                    attributes.put(name, attribute == null ? null : attribute.toString()));
+            snapshots.add(new ElementSnapshot(
+                    String.valueOf(row.get("text")),
+                    attributes,
+                    Boolean.TRUE.equals(row.get("displayed")),
+                    toDouble(row.get("x")),
+                    toDouble(row.get("y")),
+                    toDouble(row.get("width")),
+                    toDouble(row.get("height"))));
         }
-        fullText = fullText.replaceAll("\n", "");
-        return fullText;
+        return snapshots;
+    }
+
+    // Sets all fields in one script call. Fields in typedFields get real keystrokes through sendKeys instead.
+    @SuppressWarnings("unchecked")
+    public void fillFields(Map<By, String> values, Set<By> typedFields) {
+        List<By> scripted = new ArrayList<>();
+        List<List<Object>> fields = new ArrayList<>();
+        for (Map.Entry<By, String> entry : values.entrySet()) {
+            if (typedFields.contains(entry.getKey())) {
+                continue;
+            }
+            Object[] strategy = remoteStrategy(entry.getKey(), true);
+            scripted.add(entry.getKey());
+            fields.add(Arrays.asList(strategy[0], strategy[1], entry.getValue()));
+        }
+        if (!fields.isEmpty()) {
+            List<Object> missing = (List<Object>) ((JavascriptExecutor) driver.get()).executeScript(fillFieldsScript, fields);
+            if (missing != null && !missing.isEmpty()) {
+                throw new NoSuchElementException("Form fields not found: " + missing.stream()
+                        .map(index -> scripted.get(((Number) index).intValue()).toString())
+                        .collect(Collectors.joining(", ")));
+            }
+        }
+        for (Map.Entry<By, String> entry : values.entrySet()) {
+            if (typedFields.contains(entry.getKey())) {
+                driver.get().findElement(entry.getKey()).sendKeys(entry.getValue());
+            }
+        }
+    }
+
+    public void fillFields(Map<By, String> values) {
+        fillFields(values, Collections.emptySet());
+    }
+
+    public List<String> readTexts(By locator) {
+        return readAll(locator).stream()
+                .map(ElementSnapshot::text)
+                .collect(Collectors.toList());
+    }
+
+    public long countDisplayed(By locator) {
+        return readAll(locator).stream()
+                .filter(ElementSnapshot::displayed)
+                .count();
+    }
+
+    // Locator strategy and value for the in-page finder; locators without remote parameters are located here first.
+    private Object[] remoteStrategy(By locator, boolean single) {
+        if (locator instanceof By.Remotable) {
+            By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+            return new Object[]{parameters.using(), parameters.value()};
+        }
+        return new Object[]{"elements", single
+                ? Collections.singletonList(driver.get().findElement(locator))
+                : driver.get().findElements(locator)};
+    }
+
+    private static double toDouble(Object number) {
+        return number instanceof Number ? ((Number) number).doubleValue() : 0;
     }
 
 
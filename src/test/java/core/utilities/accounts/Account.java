@@ -0,0 +1,16 @@
+package core.utilities.accounts;
+
+import java.util.UUID;
+
+public record Account(String email, String password, String firstName, String lastName) {
+
+    // Email that no other worker or earlier run can have generated.
+    public static String uniqueEmail(String prefix) {
+        return prefix + "-" + UUID.randomUUID().toString().replace("-", "") + "@gmail.com";
+    }
+
+    public static Account generate() {
+        return new Account(uniqueEmail("pool"), "Pool123!" + UUID.randomUUID().toString().substring(0, 8),
+                "Pool", "Customer");
+    }
+}
@@ -0,0 +1,211 @@
+package core.utilities.accounts;
+
+import core.globals.Globals;
+import core.utilities.ConfigurationReader;
+import core.utilities.replay.StorefrontReplay;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.LongAdder;
+
+public class AccountPool {
+    // Pre-provisioned customer accounts, leased one per test thread and recycled after their cart and wishlist
+    // are emptied. The pool is saved between runs, so accounts are created through the backend only once.
+    private static final AccountPool accountPool = new AccountPool(
+            createBackend(ConfigurationReader.getProperty("accounts.backend", "rest").trim()),
+            ConfigurationReader.getIntProperty("account.pool.size", 4));
+
+    private final StorefrontBackend backend;
+    private final int size;
+    private final Path poolFile;
+    private final Json json = new Json();
+
+    private final ConcurrentLinkedDeque<Account> idleAccounts = new ConcurrentLinkedDeque<>();
+    private final Set<Account> knownAccounts = ConcurrentHashMap.newKeySet();
+    // Accounts loaded from an earlier run are reset before their first lease, in case that run did not finish.
+    private final Set<Account> unverifiedAccounts = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<Account> leases = new ThreadLocal<>();
+    private volatile boolean provisioned;
+
+    private final LongAdder leaseCount = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder recycled = new LongAdder();
+    private final LongAdder retired = new LongAdder();
+
+    AccountPool(StorefrontBackend backend, int size) {
+        this.backend = backend;
+        this.size = Math.max(1, size);
+        this.poolFile = Paths.get(ConfigurationReader.getProperty("account.pool.file",
+                ".cache/account-pool-" + backend.getName() + ".json"));
+    }
+
+    public static AccountPool getAccountPool() {
+        return accountPool;
+    }
+
+    // A replay run stays off the network, so it keeps its accounts in memory whatever accounts.backend says.
+    private static StorefrontBackend createBackend(String name) {
+        if (StorefrontReplay.isReplaying() && !name.equals("stub")) {
+            System.out.println("replay.mode=replay: using the stub accounts backend instead of '" + name + "'.");
+            return new InMemoryBackend();
+        }
+        switch (name) {
+            case "stub":
+                return new InMemoryBackend();
+            case "rest":
+                return new MagentoRestBackend(Globals.baseUrl);
+            default:
+                throw new IllegalArgumentException("Unknown accounts backend: " + name);
+        }
+    }
+
+    public StorefrontBackend getBackend() {
+        return backend;
+    }
+
+    // The current thread's account; the first call of a test takes an idle one, or creates one when all are leased.
+    public Account lease() {
+        Account account = leases.get();
+        if (account != null) {
+            return account;
+        }
+        ensureProvisioned();
+        account = idleAccounts.pollFirst();
+        while (account != null && !verify(account)) {
+            account = idleAccounts.pollFirst();
+        }
+        if (account == null) {
+            account = create();
+        }
+        leaseCount.increment();
+        leases.set(account);
+        return account;
+    }
+
+    // Empties the leased account's cart and wishlist and returns it to the pool; called after every test.
+    public void release() {
+        Account account = leases.get();
+        if (account == null) {
+            return;
+        }
+        leases.remove();
+        try {
+            backend.resetCustomer(account);
+            recycled.increment();
+            idleAccounts.offerLast(account);
+        } catch (RuntimeException e) {
+            retire(account, e);
+        }
+    }
+
+    private boolean verify(Account account) {
+        if (!unverifiedAccounts.remove(account)) {
+            return true;
+        }
+        try {
+            backend.resetCustomer(account);
+            return true;
+        } catch (RuntimeException e) {
+            retire(account, e);
+            return false;
+        }
+    }
+
+    private void retire(Account account, RuntimeException cause) {
+        System.out.println("Account " + account.email() + " is retired from the pool: " + cause.getMessage());
+        knownAccounts.remove(account);
+        retired.increment();
+    }
+
+    private Account create() {
+        Account account = backend.createCustomer(Account.generate());
+        knownAccounts.add(account);
+        created.increment();
+        return account;
+    }
+
+    private void ensureProvisioned() {
+        if (provisioned) {
+            return;
+        }
+        synchronized (this) {
+            if (provisioned) {
+                return;
+            }
+            for (Account account : load()) {
+                knownAccounts.add(account);
+                unverifiedAccounts.add(account);
+                idleAccounts.offerLast(account);
+            }
+            while (knownAccounts.size() < size) {
+                idleAccounts.offerLast(create());
+            }
+            save();
+            provisioned = true;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Account> load() {
+        List<Account> accounts = new ArrayList<>();
+        if (!Files.exists(poolFile)) {
+            return accounts;
+        }
+        try {
+            String content = new String(Files.readAllBytes(poolFile), StandardCharsets.UTF_8);
+            for (Map<String, Object> entry : (List<Map<String, Object>>) json.toType(content, Object.class)) {
+                accounts.add(new Account((String) entry.get("email"), (String) entry.get("password"),
+                        (String) entry.get("firstName"), (String) entry.get("lastName")));
+            }
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Account pool file could not be read, accounts are provisioned again: " + e.getMessage());
+        }
+        return accounts;
+    }
+
+    private synchronized void save() {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (Account account : knownAccounts) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("email", account.email());
+            entry.put("password", account.password());
+            entry.put("firstName", account.firstName());
+            entry.put("lastName", account.lastName());
+            entries.add(entry);
+        }
+        try {
+            if (poolFile.getParent() != null) {
+                Files.createDirectories(poolFile.getParent());
+            }
+            Files.write(poolFile, json.toJson(entries).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.out.println("Account pool could not be saved: " + e.getMessage());
+        }
+    }
+
+    // Saves the pool, including accounts created because every pooled one was leased; called once per suite.
+    public void shutdown() {
+        if (provisioned) {
+            save();
+        }
+    }
+
+    public String getReport() {
+        return "Account pool [" + backend.getName() + "]: accounts=" + knownAccounts.size()
+                + ", leases=" + leaseCount.sum()
+                + ", created=" + created.sum()
+                + ", recycled=" + recycled.sum()
+                + ", retired=" + retired.sum();
+    }
+}
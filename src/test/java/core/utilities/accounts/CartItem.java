@@ -0,0 +1,23 @@
+package core.utilities.accounts;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+public record CartItem(String sku, int quantity, List<String> selectedOptions) {
+    // A product line for cart or wishlist seeding. Configurable products carry their chosen options as GraphQL uids.
+
+    public static CartItem of(String sku, int quantity) {
+        return new CartItem(sku, quantity, Collections.emptyList());
+    }
+
+    // Adds a configurable option, e.g. withOption(93, 50) for color Blue.
+    public CartItem withOption(int attributeId, int valueId) {
+        List<String> options = new ArrayList<>(selectedOptions);
+        options.add(Base64.getEncoder().encodeToString(
+                ("configurable/" + attributeId + "/" + valueId).getBytes(StandardCharsets.UTF_8)));
+        return new CartItem(sku, quantity, Collections.unmodifiableList(options));
+    }
+}
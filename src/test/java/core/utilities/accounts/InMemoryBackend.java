@@ -0,0 +1,57 @@
+package core.utilities.accounts;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class InMemoryBackend implements StorefrontBackend {
+    // Local stand-in for the Magento customer API, used offline and in replay runs.
+    private final Map<String, Account> customers = new ConcurrentHashMap<>();
+    private final Map<String, List<CartItem>> carts = new ConcurrentHashMap<>();
+    private final Map<String, List<CartItem>> wishlists = new ConcurrentHashMap<>();
+
+    @Override
+    public Account createCustomer(Account account) {
+        if (customers.putIfAbsent(account.email(), account) != null) {
+            throw new IllegalStateException("A customer with the same email address already exists: " + account.email());
+        }
+        return account;
+    }
+
+    @Override
+    public void resetCustomer(Account account) {
+        customers.putIfAbsent(account.email(), account);
+        carts.remove(account.email());
+        wishlists.remove(account.email());
+    }
+
+    @Override
+    public void setCart(Account account, List<CartItem> items) {
+        carts.put(account.email(), List.copyOf(items));
+    }
+
+    @Override
+    public void setWishlist(Account account, List<CartItem> items) {
+        wishlists.put(account.email(), List.copyOf(items));
+    }
+
+    // Nothing here reaches the storefront, so seeded items never show up in the browser.
+    @Override
+    public boolean seedsStorefront() {
+        return false;
+    }
+
+    public List<CartItem> getCart(Account account) {
+        return carts.getOrDefault(account.email(), Collections.emptyList());
+    }
+
+    public List<CartItem> getWishlist(Account account) {
+        return wishlists.getOrDefault(account.email(), Collections.emptyList());
+    }
+
+    @Override
+    public String getName() {
+        return "stub";
+    }
+}
@@ -0,0 +1,211 @@
+package core.utilities.accounts;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class MagentoRestBackend implements StorefrontBackend {
+    // Talks to the storefront's REST and GraphQL endpoints with customer tokens; no admin credentials needed.
+    private static final String wishlistQuery =
+            "{ customer { wishlists { id items_v2 { items { id } } } } }";
+    private static final String cartIdQuery = "{ customerCart { id } }";
+    private static final String addToCartMutation =
+            "mutation ($cartId: String!, $items: [CartItemInput!]!) {"
+                    + " addProductsToCart(cartId: $cartId, cartItems: $items) { user_errors { code message } } }";
+    private static final String addToWishlistMutation =
+            "mutation ($wishlistId: ID!, $items: [WishlistItemInput!]!) {"
+                    + " addProductsToWishlist(wishlistId: $wishlistId, wishlistItems: $items) {"
+                    + " user_errors { code message } } }";
+    private static final String removeWishlistItemsMutation =
+            "mutation ($wishlistId: ID!, $items: [ID!]!) {"
+                    + " removeProductsFromWishlist(wishlistId: $wishlistId, wishlistItemsIds: $items) {"
+                    + " user_errors { message } } }";
+
+    private final String baseUrl;
+    private final Json json = new Json();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    public MagentoRestBackend(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+    }
+
+    @Override
+    public Account createCustomer(Account account) {
+        Map<String, Object> customer = new LinkedHashMap<>();
+        customer.put("email", account.email());
+        customer.put("firstname", account.firstName());
+        customer.put("lastname", account.lastName());
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("customer", customer);
+        body.put("password", account.password());
+        send("POST", "rest/V1/customers", null, body);
+        return account;
+    }
+
+    @Override
+    public void resetCustomer(Account account) {
+        String token = customerToken(account);
+        clearCart(token);
+        clearWishlist(token);
+    }
+
+    // Clears the cart, then adds every item in one GraphQL mutation.
+    @Override
+    @SuppressWarnings("unchecked")
+    public void setCart(Account account, List<CartItem> items) {
+        String token = customerToken(account);
+        clearCart(token);
+        if (items.isEmpty()) {
+            return;
+        }
+        String cartId = (String) ((Map<String, Object>) graphQl(token, cartIdQuery, Collections.emptyMap())
+                .get("customerCart")).get("id");
+        Map<String, Object> variables = new LinkedHashMap<>();
+        variables.put("cartId", cartId);
+        variables.put("items", itemInputs(items));
+        checkUserErrors(graphQl(token, addToCartMutation, variables), "addProductsToCart");
+    }
+
+    // Clears the wishlists, then adds every item to the first one in one GraphQL mutation.
+    @Override
+    public void setWishlist(Account account, List<CartItem> items) {
+        String token = customerToken(account);
+        Object wishlistId = clearWishlist(token);
+        if (items.isEmpty()) {
+            return;
+        }
+        if (wishlistId == null) {
+            throw new IllegalStateException("Customer " + account.email() + " has no wishlist");
+        }
+        Map<String, Object> variables = new LinkedHashMap<>();
+        variables.put("wishlistId", wishlistId);
+        variables.put("items", itemInputs(items));
+        checkUserErrors(graphQl(token, addToWishlistMutation, variables), "addProductsToWishlist");
+    }
+
+    private List<Map<String, Object>> itemInputs(List<CartItem> items) {
+        List<Map<String, Object>> inputs = new ArrayList<>();
+        for (CartItem item : items) {
+            Map<String, Object> input = new LinkedHashMap<>();
+            input.put("sku", item.sku());
+            input.put("quantity", item.quantity());
+            input.put("selected_options", item.selectedOptions());
+            inputs.add(input);
+        }
+        return inputs;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void checkUserErrors(Map<String, Object> data, String mutation) {
+        Object errors = ((Map<String, Object>) data.get(mutation)).get("user_errors");
+        if (errors instanceof List && !((List<Object>) errors).isEmpty()) {
+            throw new IllegalStateException(mutation + " rejected the items: " + errors);
+        }
+    }
+
+    @Override
+    public boolean seedsStorefront() {
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return "rest";
+    }
+
+    public String customerToken(Account account) {
+        Map<String, Object> credentials = new LinkedHashMap<>();
+        credentials.put("username", account.email());
+        credentials.put("password", account.password());
+        return (String) send("POST", "rest/V1/integration/customer/token", null, credentials);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void clearCart(String token) {
+        Object cart;
+        try {
+            cart = send("GET", "rest/V1/carts/mine", token, null);
+        } catch (IllegalStateException e) {
+            // A customer without an active quote has nothing to clear.
+            return;
+        }
+        List<Map<String, Object>> items = (List<Map<String, Object>>) ((Map<String, Object>) cart)
+                .getOrDefault("items", Collections.emptyList());
+        for (Map<String, Object> item : items) {
+            send("DELETE", "rest/V1/carts/mine/items/" + ((Number) item.get("item_id")).longValue(), token, null);
+        }
+    }
+
+    // Empties every wishlist of the customer and returns the id of the first one, null when there is none.
+    @SuppressWarnings("unchecked")
+    private Object clearWishlist(String token) {
+        Map<String, Object> customer = (Map<String, Object>) graphQl(token, wishlistQuery, Collections.emptyMap())
+                .get("customer");
+        List<Map<String, Object>> wishlists = (List<Map<String, Object>>) customer.get("wishlists");
+        for (Map<String, Object> wishlist : wishlists) {
+            List<Object> itemIds = new ArrayList<>();
+            for (Map<String, Object> item : (List<Map<String, Object>>) ((Map<String, Object>) wishlist.get("items_v2")).get("items")) {
+                itemIds.add(item.get("id"));
+            }
+            if (!itemIds.isEmpty()) {
+                Map<String, Object> variables = new LinkedHashMap<>();
+                variables.put("wishlistId", wishlist.get("id"));
+                variables.put("items", itemIds);
+                graphQl(token, removeWishlistItemsMutation, variables);
+            }
+        }
+        return wishlists.isEmpty() ? null : wishlists.get(0).get("id");
+    }
+
+    // Runs a GraphQL operation and returns its data; GraphQL errors become IllegalStateException.
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> graphQl(String token, String query, Map<String, Object> variables) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("query", query);
+        body.put("variables", variables);
+        Map<String, Object> response = (Map<String, Object>) send("POST", "graphql", token, body);
+        if (response.get("errors") != null) {
+            throw new IllegalStateException("GraphQL request failed: " + response.get("errors"));
+        }
+        return (Map<String, Object>) response.get("data");
+    }
+
+    // Sends a JSON request and returns the parsed response; non-2xx answers become IllegalStateException.
+    public Object send(String method, String path, String token, Object body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(json.toJson(body)));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        try {
+            HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() / 100 != 2) {
+                throw new IllegalStateException(method + " " + path + " returned " + response.statusCode()
+                        + ": " + response.body());
+            }
+            return response.body().isEmpty() ? null : json.toType(response.body(), Object.class);
+        } catch (IOException e) {
+            throw new IllegalStateException(method + " " + path + " failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(method + " " + path + " was interrupted", e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package core.utilities.accounts;
+
+import java.util.List;
+
+public interface StorefrontBackend {
+    // Server-side access to the storefront for test data, so tests only use the UI for what they cover.
+
+    // Creates the customer account; throws IllegalStateException when the backend rejects it.
+    Account createCustomer(Account account);
+
+    // Empties the customer's cart and wishlist so the account can be leased again.
+    void resetCustomer(Account account);
+
+    // Replaces the customer's cart with exactly these items.
+    void setCart(Account account, List<CartItem> items);
+
+    // Replaces the customer's wishlist with exactly these items.
+    void setWishlist(Account account, List<CartItem> items);
+
+    // Whether carts and wishlists set here are what the browser's storefront shows.
+    boolean seedsStorefront();
+
+    String getName();
+}
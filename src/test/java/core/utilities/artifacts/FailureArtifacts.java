@@ -0,0 +1,209 @@
+package core.utilities.artifacts;
+
+import core.utilities.ConfigurationReader;
+import core.utilities.logs.BrowserLogEntry;
+import core.utilities.logs.BrowserLogRecorder;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.logging.LogEntry;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+public class FailureArtifacts {
+    // Failure artifacts in two halves: the test thread only grabs the raw screenshot, page source and logs,
+    // a background writer hashes, compresses and stores them. The queue is bounded; when it is full the test
+    // thread writes its own capture, so a burst of failures slows the suite down instead of exhausting memory.
+    private static final FailureArtifacts failureArtifacts = new FailureArtifacts(
+            Paths.get(ConfigurationReader.getProperty("artifacts.dir", "test-output/artifacts")),
+            ConfigurationReader.getIntProperty("artifacts.writer.threads", 1),
+            ConfigurationReader.getIntProperty("artifacts.queue.size", 16));
+
+    private final Path directory;
+    private final ThreadPoolExecutor writer;
+    // Screenshots are stored once per content hash; identical ones (e.g. the same error page) share a file.
+    private final Set<String> storedScreenshots = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    private final LongAdder captures = new LongAdder();
+    private final LongAdder captureNanos = new LongAdder();
+    private final LongAdder duplicateScreenshots = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final LongAdder writtenByTestThread = new LongAdder();
+    private final LongAdder failedWrites = new LongAdder();
+
+    FailureArtifacts(Path directory, int threads, int queueSize) {
+        this.directory = directory;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.writer = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueSize)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "artifact-writer-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (task, executor) -> {
+                    writtenByTestThread.increment();
+                    task.run();
+                });
+    }
+
+    public static FailureArtifacts getFailureArtifacts() {
+        return failureArtifacts;
+    }
+
+    // Grabs the raw artifacts of a failed test and queues them for writing.
+    // Returns the artifact page the report links to; it exists once the writer got to it.
+    public Path capture(WebDriver driver, String testName, Throwable failure) {
+        long start = System.nanoTime();
+        byte[] screenshot = null;
+        String pageSource = null;
+        String url = null;
+        List<String> logs = Collections.emptyList();
+        try {
+            url = driver.getCurrentUrl();
+            screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            pageSource = driver.getPageSource();
+        } catch (WebDriverException | ClassCastException e) {
+            // A dead or hung session still gets whatever was captured before it failed.
+            System.out.println("Failure artifacts are incomplete for " + testName + ": " + e.getMessage());
+        }
+        BrowserLogRecorder logRecorder = BrowserLogRecorder.existing(driver);
+        if (logRecorder != null) {
+            logs = logRecorder.entriesSinceStart(BrowserLogEntry.Level.DEBUG, Integer.MAX_VALUE).stream()
+                    .map(BrowserLogEntry::toString)
+                    .collect(Collectors.toList());
+        } else {
+            try {
+                logs = driver.manage().logs().get("browser").getAll().stream()
+                        .map(LogEntry::toString)
+                        .collect(Collectors.toList());
+            } catch (WebDriverException ignored) {
+                // Not every driver exposes the browser log.
+            }
+        }
+        String id = testName.replaceAll("[^A-Za-z0-9._-]", "_") + "-" + sequence.incrementAndGet();
+        captures.increment();
+        captureNanos.add(System.nanoTime() - start);
+        Capture capture = new Capture(id, testName, url, failure, screenshot, pageSource, logs);
+        writer.execute(() -> write(capture));
+        return directory.resolve(id + ".html").toAbsolutePath();
+    }
+
+    private void write(Capture capture) {
+        try {
+            Files.createDirectories(directory.resolve("screenshots"));
+            String screenshotFile = null;
+            if (capture.screenshot() != null) {
+                String hash = sha256(capture.screenshot());
+                screenshotFile = "screenshots/" + hash + ".png";
+                if (storedScreenshots.add(hash)) {
+                    write(directory.resolve(screenshotFile), capture.screenshot(), false);
+                } else {
+                    duplicateScreenshots.increment();
+                }
+            }
+            String sourceFile = null;
+            if (capture.pageSource() != null) {
+                sourceFile = capture.id() + ".source.html.gz";
+                write(directory.resolve(sourceFile), capture.pageSource().getBytes(StandardCharsets.UTF_8), true);
+            }
+            String logFile = null;
+            if (!capture.logs().isEmpty()) {
+                logFile = capture.id() + ".browser.log.gz";
+                write(directory.resolve(logFile), String.join("\n", capture.logs()).getBytes(StandardCharsets.UTF_8), true);
+            }
+            write(directory.resolve(capture.id() + ".html"),
+                    page(capture, screenshotFile, sourceFile, logFile).getBytes(StandardCharsets.UTF_8), false);
+        } catch (IOException e) {
+            failedWrites.increment();
+            System.out.println("Failure artifacts could not be written for " + capture.testName() + ": " + e.getMessage());
+        }
+    }
+
+    private void write(Path file, byte[] bytes, boolean gzip) throws IOException {
+        try (OutputStream out = gzip ? new GZIPOutputStream(Files.newOutputStream(file)) : Files.newOutputStream(file)) {
+            out.write(bytes);
+        }
+        bytesWritten.add(Files.size(file));
+    }
+
+    // Small page per failure linking everything that was captured, so the report needs a single link.
+    private static String page(Capture capture, String screenshotFile, String sourceFile, String logFile) {
+        StringBuilder page = new StringBuilder("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>")
+                .append(escape(capture.testName())).append("</title></head><body><h1>")
+                .append(escape(capture.testName())).append("</h1><p>").append(escape(String.valueOf(capture.url())))
+                .append("</p>");
+        if (capture.failure() != null) {
+            page.append("<pre>").append(escape(capture.failure().toString())).append("</pre>");
+        }
+        if (sourceFile != null) {
+            page.append("<p><a href=\"").append(sourceFile).append("\">Page source</a></p>");
+        }
+        if (logFile != null) {
+            page.append("<p><a href=\"").append(logFile).append("\">Browser log</a></p>");
+        }
+        if (screenshotFile != null) {
+            page.append("<img style=\"max-width:100%\" src=\"").append(screenshotFile).append("\">");
+        }
+        return page.append("</body></html>").toString();
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Waits for every queued write, called once at the end of the suite.
+    public void flush() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(2, TimeUnit.MINUTES)) {
+                System.out.println("Failure artifacts still pending after 2 minutes: " + writer.getQueue().size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public String getReport() {
+        long count = captures.sum();
+        return "Failure artifacts: captures=" + count
+                + ", avgCaptureMs=" + (count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(captureNanos.sum() / count))
+                + ", duplicateScreenshots=" + duplicateScreenshots.sum()
+                + ", writtenByTestThread=" + writtenByTestThread.sum()
+                + ", failedWrites=" + failedWrites.sum()
+                + ", kbWritten=" + bytesWritten.sum() / 1024;
+    }
+
+    private record Capture(String id, String testName, String url, Throwable failure, byte[] screenshot,
+                           String pageSource, List<String> logs) {
+    }
+}
@@ -0,0 +1,109 @@
+package core.utilities.filters;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+public class FilterOptionCatalog {
+    // Option ids of the layered-navigation filters per category path, read from the category page's own filter links
+    // the first time a label is asked for and shared by every session of the run.
+    // Each link adds one query parameter to the current URL; that parameter is the option's code and value.
+    private static final String readOptionsScript =
+            "var current = new URL(location.href).searchParams, options = [];"
+                    + "document.querySelectorAll('.filter-options-item').forEach(function (item) {"
+                    + "  var title = item.querySelector('.filter-options-title');"
+                    + "  item.querySelectorAll('.filter-options-content a[href]').forEach(function (link) {"
+                    + "    var code = null, value = null;"
+                    + "    new URL(link.href, location.href).searchParams.forEach(function (v, k) {"
+                    + "      if (k !== 'p' && current.get(k) !== v) { code = k; value = v; }"
+                    + "    });"
+                    + "    if (code === null) { return; }"
+                    + "    var swatch = link.querySelector('[option-label]'), label;"
+                    + "    if (swatch) { label = swatch.getAttribute('option-label'); }"
+                    + "    else { var copy = link.cloneNode(true);"
+                    + "      copy.querySelectorAll('.count').forEach(function (count) { count.remove(); });"
+                    + "      label = copy.textContent; }"
+                    + "    options.push([title ? title.textContent.trim() : code, code, value, label.replace(/\\s+/g, ' ').trim()]);"
+                    + "  });"
+                    + "});"
+                    + "return options;";
+
+    private static final Map<String, List<Option>> categories = new ConcurrentHashMap<>();
+
+    // Resolves a filter on the category the driver is on; only a label the cache does not know reads the page.
+    public static Option lookup(WebDriver driver, String attribute, String value) {
+        String category = URI.create(driver.getCurrentUrl()).getPath();
+        Option option = find(categories.getOrDefault(category, Collections.emptyList()), attribute, value);
+        if (option == null) {
+            option = find(merge(category, readOptions(driver)), attribute, value);
+        }
+        if (option == null && attribute.equalsIgnoreCase("price")) {
+            // Price buckets change with the other filters, but any range is accepted.
+            option = new Option("Price", "price", ProductFilters.priceRange(value), value);
+        }
+        if (option == null) {
+            throw new IllegalArgumentException("No option '" + value + "' for filter '" + attribute + "' on " + category
+                    + ", known options: " + describe(categories.get(category)));
+        }
+        return option;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Option> readOptions(WebDriver driver) {
+        List<Object> rows = (List<Object>) ((JavascriptExecutor) driver).executeScript(readOptionsScript);
+        List<Option> options = new ArrayList<>();
+        if (rows != null) {
+            for (Object row : rows) {
+                List<Object> cells = (List<Object>) row;
+                options.add(new Option(String.valueOf(cells.get(0)), String.valueOf(cells.get(1)),
+                        String.valueOf(cells.get(2)), String.valueOf(cells.get(3))));
+            }
+        }
+        return options;
+    }
+
+    // Filters already applied are missing from the panel, so what a later read finds is added to the earlier reads.
+    private static List<Option> merge(String category, List<Option> read) {
+        return categories.merge(category, read, (known, added) -> {
+            Map<String, Option> merged = new LinkedHashMap<>();
+            for (Option option : known) {
+                merged.put(option.code() + "=" + option.value(), option);
+            }
+            for (Option option : added) {
+                merged.put(option.code() + "=" + option.value(), option);
+            }
+            return new ArrayList<>(merged.values());
+        });
+    }
+
+    private static Option find(List<Option> options, String attribute, String value) {
+        String label = value.replaceAll("\\s+", " ").trim();
+        for (Option option : options) {
+            if ((option.code().equalsIgnoreCase(attribute) || option.title().equalsIgnoreCase(attribute))
+                    && (option.label().equalsIgnoreCase(label) || option.value().equals(label))) {
+                return option;
+            }
+        }
+        return null;
+    }
+
+    private static String describe(List<Option> options) {
+        if (options == null || options.isEmpty()) {
+            return "none";
+        }
+        return options.stream()
+                .map(option -> option.title() + ": " + option.label())
+                .collect(Collectors.joining(", "));
+    }
+
+    public record Option(String title, String code, String value, String label) {
+    }
+}
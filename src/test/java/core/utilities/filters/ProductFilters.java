@@ -0,0 +1,143 @@
+package core.utilities.filters;
+
+import core.utilities.ConfigurationReader;
+import core.utilities.PriceUtils;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+public class ProductFilters {
+    // Layered-navigation filters, sort order and page size of a category page, given the way the storefront shows them,
+    // e.g. with("Color", "Blue").with("Price", "$50.00 - $59.99").sortBy("price", "asc").limit(36).
+    private static final Pattern rawPriceRange = Pattern.compile("\\d*(\\.\\d+)?-\\d*(\\.\\d+)?");
+
+    // Filters are applied by composing the category URL, or by clicking through the filter panel
+    // for tests that cover the layered navigation UI itself.
+    public enum Mode {
+        URL, CLICK;
+
+        public static Mode configured() {
+            return Mode.valueOf(ConfigurationReader.getProperty("filters.mode", "url").trim().toUpperCase());
+        }
+    }
+
+    private final Map<String, String> filters = new LinkedHashMap<>();
+    private String order;
+    private String direction;
+    private int pageSize;
+
+    public static ProductFilters create() {
+        return new ProductFilters();
+    }
+
+    // The attribute is the filter's title or its query parameter, the value the option label or its option id.
+    public ProductFilters with(String attribute, String value) {
+        filters.put(attribute, value);
+        return this;
+    }
+
+    // Sort order as the toolbar's sorter values it (position, name, price), direction asc or desc.
+    public ProductFilters sortBy(String order, String direction) {
+        this.order = order;
+        this.direction = direction;
+        return this;
+    }
+
+    public ProductFilters limit(int pageSize) {
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    public Map<String, String> getFilters() {
+        return Collections.unmodifiableMap(filters);
+    }
+
+    // The toolbar only rewrites the URL with these parameters, so they are composed the same way in both modes.
+    public Map<String, String> listParameters() {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        if (order != null) {
+            parameters.put("product_list_order", order);
+        }
+        if (direction != null) {
+            parameters.put("product_list_dir", direction);
+        }
+        if (pageSize > 0) {
+            parameters.put("product_list_limit", String.valueOf(pageSize));
+        }
+        return parameters;
+    }
+
+    // Adds the resolved options and list parameters to the current query; the page number restarts at the first page.
+    public String compose(String currentUrl, List<FilterOptionCatalog.Option> options) {
+        URI uri = URI.create(currentUrl);
+        Map<String, String> query = parseQuery(uri.getRawQuery());
+        query.remove("p");
+        for (FilterOptionCatalog.Option option : options) {
+            query.put(option.code(), option.value());
+        }
+        query.putAll(listParameters());
+        String base = currentUrl.replaceFirst("[?#].*$", "");
+        if (query.isEmpty()) {
+            return base;
+        }
+        return base + "?" + query.entrySet().stream()
+                .map(entry -> encode(entry.getKey()) + "=" + encode(entry.getValue()))
+                .collect(Collectors.joining("&"));
+    }
+
+    // Magento's price parameter is a half-open range: "$50.00 - $59.99" is 50-60, "$100.00 and above" is 100-.
+    public static String priceRange(String label) {
+        String text = label.trim();
+        if (rawPriceRange.matcher(text).matches()) {
+            return text;
+        }
+        if (text.toLowerCase().endsWith("and above")) {
+            return plain(BigDecimal.valueOf(PriceUtils.parsePrice(text.substring(0, text.length() - 9)))) + "-";
+        }
+        String[] bounds = text.split("\\s+-\\s+|\\s*–\\s*");
+        if (bounds.length != 2) {
+            throw new IllegalArgumentException("Not a price range: " + label);
+        }
+        BigDecimal from = BigDecimal.valueOf(PriceUtils.parsePrice(bounds[0]));
+        BigDecimal to = BigDecimal.valueOf(PriceUtils.parsePrice(bounds[1])).add(new BigDecimal("0.01"));
+        return plain(from) + "-" + plain(to);
+    }
+
+    private static String plain(BigDecimal amount) {
+        return amount.stripTrailingZeros().toPlainString();
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new LinkedHashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            String name = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            query.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static String encode(String text) {
+        return URLEncoder.encode(text, StandardCharsets.UTF_8).replace("%2C", ",");
+    }
+
+    @Override
+    public String toString() {
+        Map<String, String> all = new LinkedHashMap<>(filters);
+        all.putAll(listParameters());
+        return all.toString();
+    }
+}
@@ -0,0 +1,123 @@
+package core.utilities.history;
+
+import core.utilities.ConfigurationReader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class RegressionDetector {
+    // Compares the latest run of every series with the rolling median of the runs before it. A slowdown is flagged
+    // when its robust z-score (0.6745 * (x - median) / MAD) passes the threshold and it is also a real relative
+    // slowdown, so a 5 s step drifting to 8 s is reported while jitter of a few milliseconds is not.
+    private final int window;
+    private final int minimumSamples;
+    private final double scoreThreshold;
+    private final double minimumSlowdown;
+
+    public record Regression(String name, int currentMillis, double medianMillis, double madMillis, double score) {
+        public double slowdown() {
+            return currentMillis / medianMillis;
+        }
+    }
+
+    public RegressionDetector(int window, int minimumSamples, double scoreThreshold, double minimumSlowdown) {
+        this.window = window;
+        this.minimumSamples = minimumSamples;
+        this.scoreThreshold = scoreThreshold;
+        this.minimumSlowdown = minimumSlowdown;
+    }
+
+    // Thresholds from history.regression.* in configuration.properties.
+    public static RegressionDetector fromConfiguration() {
+        return new RegressionDetector(
+                ConfigurationReader.getIntProperty("history.regression.window", 20),
+                ConfigurationReader.getIntProperty("history.regression.min.samples", 5),
+                Double.parseDouble(ConfigurationReader.getProperty("history.regression.score", "3.5")),
+                Double.parseDouble(ConfigurationReader.getProperty("history.regression.min.slowdown", "1.2")));
+    }
+
+    // Regressions of the store's latest run, largest slowdown first.
+    public List<Regression> detect(ResultsStore store) throws IOException {
+        List<Long> runs = store.runs();
+        List<Regression> regressions = new ArrayList<>();
+        if (runs.isEmpty()) {
+            return regressions;
+        }
+        long latestRun = runs.get(runs.size() - 1);
+        for (String name : store.getNames()) {
+            List<ResultsStore.Sample> samples = store.series(name);
+            if (samples.isEmpty() || samples.get(samples.size() - 1).runId() != latestRun) {
+                continue;
+            }
+            ResultsStore.Sample current = samples.get(samples.size() - 1);
+            // Failed runs stop early and would drag the baseline down; they are left out of it.
+            double[] baseline = samples.subList(Math.max(0, samples.size() - 1 - window), samples.size() - 1).stream()
+                    .filter(ResultsStore.Sample::passed)
+                    .mapToDouble(ResultsStore.Sample::durationMillis)
+                    .toArray();
+            if (baseline.length < minimumSamples) {
+                continue;
+            }
+            double median = median(baseline);
+            double mad = median(Arrays.stream(baseline).map(value -> Math.abs(value - median)).toArray());
+            // A perfectly stable baseline has no spread; 1% of the median keeps the score finite.
+            double spread = Math.max(mad, Math.max(1, median * 0.01));
+            double score = 0.6745 * (current.durationMillis() - median) / spread;
+            if (score > scoreThreshold && current.durationMillis() > median * minimumSlowdown) {
+                regressions.add(new Regression(name, current.durationMillis(), median, mad, score));
+            }
+        }
+        regressions.sort(Comparator.comparingDouble(Regression::slowdown).reversed());
+        return regressions;
+    }
+
+    public static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    public static String format(List<Regression> regressions) {
+        StringBuilder report = new StringBuilder();
+        if (regressions.isEmpty()) {
+            return report.append("No performance regressions.\n").toString();
+        }
+        report.append("Performance regressions: ").append(regressions.size()).append('\n');
+        for (Regression regression : regressions) {
+            report.append(String.format("  %-70s %8d ms  median %8.0f ms  MAD %6.0f ms  x%.2f  z=%.1f%n",
+                    regression.name(), regression.currentMillis(), regression.medianMillis(),
+                    regression.madMillis(), regression.slowdown(), regression.score()));
+        }
+        return report.toString();
+    }
+
+    // Args: [results store directory] report file, optionally --fail-on-regression to exit with 1 when any is found.
+    // Without a store directory, history.store from configuration.properties is checked, the store runs append to.
+    public static void main(String[] args) throws IOException {
+        List<String> paths = Arrays.stream(args).filter(arg -> !arg.startsWith("--")).collect(Collectors.toList());
+        Path storeDirectory = paths.size() > 1
+                ? Paths.get(paths.get(0))
+                : Paths.get(ConfigurationReader.getProperty("history.store", "test-history/results"));
+        ResultsStore store = ResultsStore.open(storeDirectory);
+        List<Regression> regressions = fromConfiguration().detect(store);
+        String report = format(regressions);
+        Path reportFile = Paths.get(paths.get(paths.size() - 1));
+        if (reportFile.getParent() != null) {
+            Files.createDirectories(reportFile.getParent());
+        }
+        Files.write(reportFile, report.getBytes(StandardCharsets.UTF_8));
+        System.out.print(report);
+        if (!regressions.isEmpty() && Arrays.asList(args).contains("--fail-on-regression")) {
+            System.exit(1);
+        }
+    }
+}
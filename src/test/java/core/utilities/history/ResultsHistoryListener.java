@@ -0,0 +1,80 @@
+package core.utilities.history;
+
+import core.utilities.ConfigurationReader;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ISuiteResult;
+import org.testng.ITestContext;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class ResultsHistoryListener implements ISuiteListener {
+    // Appends every suite run to the ResultsStore and reports slowdowns against the earlier runs.
+    // Series are named test:<class>.<method>, config:<class>.<method> and step:<Page>.<method>.
+    public static final String pageStepsAttribute = "pageSteps";
+
+    private long runId;
+
+    @Override
+    public void onStart(ISuite suite) {
+        runId = System.currentTimeMillis();
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        Map<String, long[]> totals = new TreeMap<>();
+        for (ISuiteResult suiteResult : suite.getResults().values()) {
+            ITestContext context = suiteResult.getTestContext();
+            addResults(totals, "test:", context.getPassedTests().getAllResults(), true);
+            addResults(totals, "test:", context.getFailedTests().getAllResults(), false);
+            addResults(totals, "config:", context.getPassedConfigurations().getAllResults(), true);
+            addResults(totals, "config:", context.getFailedConfigurations().getAllResults(), false);
+        }
+        if (totals.isEmpty()) {
+            return;
+        }
+        Map<String, ResultsStore.Sample> samples = new TreeMap<>();
+        totals.forEach((name, total) -> samples.put(name,
+                new ResultsStore.Sample(runId, (int) (total[0] / total[1]), total[2] == 0)));
+        try {
+            ResultsStore store = ResultsStore.open(
+                    Paths.get(ConfigurationReader.getProperty("history.store", "test-history/results")));
+            store.appendRun(runId, samples);
+            String report = RegressionDetector.format(RegressionDetector.fromConfiguration().detect(store));
+            Path reportFile = Paths.get(suite.getOutputDirectory()).getParent().resolve("performance-regressions.txt");
+            Files.write(reportFile, report.getBytes(StandardCharsets.UTF_8));
+            System.out.print(report);
+        } catch (IOException e) {
+            System.out.println("Results history could not be updated: " + e.getMessage());
+        }
+    }
+
+    // Sums duration, count and failures per series; page steps come from the result attribute set by Test1.
+    @SuppressWarnings("unchecked")
+    private static void addResults(Map<String, long[]> totals, String prefix, Collection<ITestResult> results,
+                                   boolean passed) {
+        for (ITestResult result : results) {
+            String name = prefix + result.getTestClass().getRealClass().getName() + "." + result.getMethod().getMethodName();
+            add(totals, name, result.getEndMillis() - result.getStartMillis(), passed);
+            Object steps = result.getAttribute(pageStepsAttribute);
+            if (steps instanceof Map) {
+                ((Map<String, Long>) steps).forEach((step, millis) -> add(totals, "step:" + step, millis, passed));
+            }
+        }
+    }
+
+    private static void add(Map<String, long[]> totals, String name, long millis, boolean passed) {
+        long[] total = totals.computeIfAbsent(name, key -> new long[3]);
+        total[0] += millis;
+        total[1]++;
+        total[2] += passed ? 0 : 1;
+    }
+}
@@ -0,0 +1,131 @@
+package core.utilities.history;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ResultsStore {
+    // Append-only history of test, configuration and page-step durations, one compact binary column file per name:
+    //   names.txt        one name per line, the line number is the series id (the index on test and step name)
+    //   series/<id>.bin  13-byte samples: run id (long), duration in ms (int), passed (byte)
+    //   runs.bin         run ids in order
+    // Reading a series only touches that series' file; nothing is ever rewritten.
+    private static final int sampleBytes = Long.BYTES + Integer.BYTES + 1;
+
+    private final Path directory;
+    private final Map<String, Integer> nameIds = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+
+    public record Sample(long runId, int durationMillis, boolean passed) {
+    }
+
+    private ResultsStore(Path directory) {
+        this.directory = directory;
+    }
+
+    public static ResultsStore open(Path directory) throws IOException {
+        ResultsStore store = new ResultsStore(directory);
+        Files.createDirectories(directory.resolve("series"));
+        Path namesFile = directory.resolve("names.txt");
+        if (Files.exists(namesFile)) {
+            for (String name : Files.readAllLines(namesFile, StandardCharsets.UTF_8)) {
+                if (!name.isEmpty()) {
+                    store.nameIds.put(name, store.names.size());
+                    store.names.add(name);
+                }
+            }
+        }
+        return store;
+    }
+
+    // Appends one run with one sample per name.
+    public synchronized void appendRun(long runId, Map<String, Sample> samples) throws IOException {
+        for (Map.Entry<String, Sample> entry : samples.entrySet()) {
+            ByteBuffer buffer = ByteBuffer.allocate(sampleBytes);
+            buffer.putLong(runId).putInt(entry.getValue().durationMillis()).put((byte) (entry.getValue().passed() ? 1 : 0));
+            buffer.flip();
+            append(seriesFile(idFor(entry.getKey())), buffer);
+        }
+        append(directory.resolve("runs.bin"), ByteBuffer.allocate(Long.BYTES).putLong(runId).flip());
+    }
+
+    public synchronized List<String> getNames() {
+        return Collections.unmodifiableList(new ArrayList<>(names));
+    }
+
+    // Samples of one series in run order; empty for an unknown name.
+    public synchronized List<Sample> series(String name) throws IOException {
+        Integer id = nameIds.get(name);
+        if (id == null || !Files.exists(seriesFile(id))) {
+            return Collections.emptyList();
+        }
+        List<Sample> samples = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(seriesFile(id))))) {
+            while (true) {
+                long runId;
+                try {
+                    runId = in.readLong();
+                } catch (EOFException e) {
+                    break;
+                }
+                samples.add(new Sample(runId, in.readInt(), in.readByte() == 1));
+            }
+        }
+        return samples;
+    }
+
+    public synchronized List<Long> runs() throws IOException {
+        Path runsFile = directory.resolve("runs.bin");
+        List<Long> runs = new ArrayList<>();
+        if (Files.exists(runsFile)) {
+            try (InputStream in = Files.newInputStream(runsFile)) {
+                ByteBuffer buffer = ByteBuffer.wrap(in.readAllBytes());
+                while (buffer.remaining() >= Long.BYTES) {
+                    runs.add(buffer.getLong());
+                }
+            }
+        }
+        return runs;
+    }
+
+    private int idFor(String name) throws IOException {
+        Integer id = nameIds.get(name);
+        if (id != null) {
+            return id;
+        }
+        if (name.contains("\n")) {
+            throw new IllegalArgumentException("Series names cannot contain line breaks: " + name);
+        }
+        id = names.size();
+        append(directory.resolve("names.txt"), ByteBuffer.wrap((name + "\n").getBytes(StandardCharsets.UTF_8)));
+        nameIds.put(name, id);
+        names.add(name);
+        return id;
+    }
+
+    private Path seriesFile(int id) {
+        return directory.resolve("series").resolve(id + ".bin");
+    }
+
+    private static void append(Path file, ByteBuffer buffer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+}
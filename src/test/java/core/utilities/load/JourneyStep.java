@@ -0,0 +1,5 @@
+package core.utilities.load;
+
+// One timed step of a synthetic user's journey, e.g. "apply filter".
+public record JourneyStep(String name, Runnable action) {
+}
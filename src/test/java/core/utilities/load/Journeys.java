@@ -0,0 +1,40 @@
+package core.utilities.load;
+
+import core.pages.HPage;
+import core.pages.ProductPage;
+import core.pages.ShoppingCPage;
+import core.utilities.BaseInformation;
+import core.utilities.filters.ProductFilters;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+public class Journeys {
+    // User journeys built from the page objects, as the UI tests use them. Each user gets its own page objects.
+
+    // The ShoppingCTest path as a guest: home page, Jackets, filters, add to cart, open the cart.
+    public static List<JourneyStep> shoppingCart(WebDriver driver) {
+        HPage homePage = new HPage(driver);
+        ProductPage productPage = new ProductPage(driver);
+        ShoppingCPage shoppingPage = new ShoppingCPage(driver);
+        return Arrays.asList(
+                new JourneyStep("open home page", () -> driver.get(BaseInformation.getBaseUrl())),
+                new JourneyStep("navigate to Jackets", homePage::goToJacketsSection),
+                new JourneyStep("apply filter", () -> productPage.applyFilters(ProductFilters.create()
+                        .with("color", "Blue")
+                        .with("price", "$50.00 - $59.99"))),
+                new JourneyStep("add to cart", productPage::addAllItemsToCart),
+                new JourneyStep("open cart", shoppingPage::openShoppingCart));
+    }
+
+    public static Function<WebDriver, List<JourneyStep>> byName(String name) {
+        switch (name) {
+            case "shopping-cart":
+                return Journeys::shoppingCart;
+            default:
+                throw new IllegalArgumentException("Unknown journey: " + name);
+        }
+    }
+}
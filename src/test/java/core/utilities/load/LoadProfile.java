@@ -0,0 +1,22 @@
+package core.utilities.load;
+
+import core.utilities.ConfigurationReader;
+
+import java.time.Duration;
+
+// Shape of a load run: users start evenly spread over the ramp-up, then all of them loop the journey
+// until the steady state ends. Only steady-state samples go into the headline numbers.
+public record LoadProfile(int users, Duration rampUp, Duration steadyState, Duration thinkTime) {
+
+    public static LoadProfile fromConfiguration() {
+        return new LoadProfile(
+                ConfigurationReader.getIntProperty("load.users", 4),
+                Duration.ofSeconds(ConfigurationReader.getIntProperty("load.rampup.seconds", 30)),
+                Duration.ofSeconds(ConfigurationReader.getIntProperty("load.steady.seconds", 120)),
+                Duration.ofMillis(ConfigurationReader.getIntProperty("load.think.millis", 500)));
+    }
+
+    public Duration total() {
+        return rampUp.plus(steadyState);
+    }
+}
@@ -0,0 +1,134 @@
+package core.utilities.load;
+
+import core.utilities.metrics.LatencyHistogram;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LoadResults {
+    // Step latencies of all users merged into one histogram per phase and step, plus per-second throughput.
+    private final LoadProfile profile;
+    // Step names in the order users first reached them.
+    private final CopyOnWriteArrayList<String> stepNames = new CopyOnWriteArrayList<>();
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final AtomicLongArray journeysPerSecond;
+    private final AtomicLongArray stepsPerSecond;
+    private final AtomicIntegerArray activeUsersPerSecond;
+    private final LongAdder sessionFailures = new LongAdder();
+
+    LoadResults(LoadProfile profile) {
+        this.profile = profile;
+        // Journeys still running at the deadline finish their current step, so leave room after it.
+        int seconds = (int) profile.total().getSeconds() + 120;
+        this.journeysPerSecond = new AtomicLongArray(seconds);
+        this.stepsPerSecond = new AtomicLongArray(seconds);
+        this.activeUsersPerSecond = new AtomicIntegerArray(seconds);
+    }
+
+    void recordStep(String phase, String step, long micros, int second) {
+        stepNames.addIfAbsent(step);
+        latencies.computeIfAbsent(phase + "|" + step, key -> new LatencyHistogram()).record(micros);
+        increment(stepsPerSecond, second);
+    }
+
+    void recordError(String phase, String step) {
+        stepNames.addIfAbsent(step);
+        errors.computeIfAbsent(phase + "|" + step, key -> new LongAdder()).increment();
+    }
+
+    void recordJourney(int second) {
+        increment(journeysPerSecond, second);
+    }
+
+    void recordActiveUsers(int second, int users) {
+        if (second >= 0 && second < activeUsersPerSecond.length()) {
+            activeUsersPerSecond.set(second, users);
+        }
+    }
+
+    void recordSessionFailure() {
+        sessionFailures.increment();
+    }
+
+    private static void increment(AtomicLongArray counters, int second) {
+        if (second >= 0 && second < counters.length()) {
+            counters.incrementAndGet(second);
+        }
+    }
+
+    public void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Map<String, Object> report = new LinkedHashMap<>();
+        Map<String, Object> profileJson = new LinkedHashMap<>();
+        profileJson.put("users", profile.users());
+        profileJson.put("rampUpSeconds", profile.rampUp().getSeconds());
+        profileJson.put("steadyStateSeconds", profile.steadyState().getSeconds());
+        profileJson.put("thinkTimeMillis", profile.thinkTime().toMillis());
+        report.put("profile", profileJson);
+        report.put("sessionFailures", sessionFailures.sum());
+        for (String phase : new String[]{"ramp-up", "steady"}) {
+            Map<String, Object> steps = new LinkedHashMap<>();
+            for (String step : stepNames) {
+                steps.put(step, stats(phase, step));
+            }
+            report.put(phase, steps);
+        }
+        List<Map<String, Object>> throughput = new ArrayList<>();
+        for (int second = 0; second < journeysPerSecond.length(); second++) {
+            if (second > profile.total().getSeconds() && stepsPerSecond.get(second) == 0) {
+                break;
+            }
+            Map<String, Object> point = new LinkedHashMap<>();
+            point.put("second", second);
+            point.put("activeUsers", activeUsersPerSecond.get(second));
+            point.put("journeys", journeysPerSecond.get(second));
+            point.put("steps", stepsPerSecond.get(second));
+            throughput.add(point);
+        }
+        report.put("throughput", throughput);
+        Files.write(directory.resolve("load-report.json"), new Json().toJson(report).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Map<String, Object> stats(String phase, String step) {
+        LatencyHistogram histogram = latencies.getOrDefault(phase + "|" + step, new LatencyHistogram());
+        LongAdder stepErrors = errors.get(phase + "|" + step);
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("count", histogram.getCount());
+        stats.put("errors", stepErrors == null ? 0 : stepErrors.sum());
+        stats.put("p50Ms", histogram.percentile(0.5) / 1000);
+        stats.put("p95Ms", histogram.percentile(0.95) / 1000);
+        stats.put("p99Ms", histogram.percentile(0.99) / 1000);
+        stats.put("maxMs", histogram.getMaxMicros() / 1000);
+        return stats;
+    }
+
+    public String getSummary() {
+        StringBuilder summary = new StringBuilder("Load run: users=" + profile.users()
+                + ", sessionFailures=" + sessionFailures.sum() + "\n");
+        long steadyJourneys = 0;
+        for (int second = (int) profile.rampUp().getSeconds(); second < profile.total().getSeconds(); second++) {
+            steadyJourneys += journeysPerSecond.get(second);
+        }
+        summary.append(String.format("  steady state: %.2f journeys/s%n",
+                steadyJourneys / (double) Math.max(1, profile.steadyState().getSeconds())));
+        for (String step : stepNames) {
+            Map<String, Object> stats = stats("steady", step);
+            summary.append(String.format("  %-22s count=%-6s errors=%-4s p50=%sms p95=%sms p99=%sms%n", step,
+                    stats.get("count"), stats.get("errors"), stats.get("p50Ms"), stats.get("p95Ms"), stats.get("p99Ms")));
+        }
+        return summary.toString();
+    }
+}
@@ -0,0 +1,150 @@
+package core.utilities.load;
+
+import core.utilities.ConfigurationReader;
+import core.utilities.DriverBinaries;
+import core.utilities.DriverPool;
+import core.utilities.replay.StorefrontReplay;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+public class LoadRunner {
+    // Runs a journey as concurrent synthetic users, each with its own headless browser, from one JVM.
+    // Every user owns a platform thread because it blocks on its driver for the whole run.
+    // Point replay.mode=replay at a recorded archive to load the local stand-in storefront instead of the live site.
+    private final LoadProfile profile;
+    private final Function<WebDriver, List<JourneyStep>> journey;
+    private final String browserType = ConfigurationReader.getProperty("browser", "chrome").toLowerCase();
+    private final AtomicInteger activeUsers = new AtomicInteger();
+
+    public LoadRunner(LoadProfile profile, Function<WebDriver, List<JourneyStep>> journey) {
+        this.profile = profile;
+        this.journey = journey;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LoadProfile profile = LoadProfile.fromConfiguration();
+        String journeyName = ConfigurationReader.getProperty("load.journey", "shopping-cart");
+        try {
+            LoadResults results = new LoadRunner(profile, Journeys.byName(journeyName)).run();
+            results.write(Paths.get("test-output", "load"));
+            System.out.print(results.getSummary());
+        } finally {
+            StorefrontReplay.shutdown();
+        }
+    }
+
+    public LoadResults run() throws InterruptedException {
+        DriverBinaries.resolve(browserType.equals("firefox") ? "firefox" : "chrome");
+        LoadResults results = new LoadResults(profile);
+
+        long start = System.nanoTime();
+        long deadline = start + profile.total().toNanos();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> results.recordActiveUsers(secondOf(start), activeUsers.get()),
+                0, 1, TimeUnit.SECONDS);
+        AtomicInteger userNumber = new AtomicInteger();
+        ExecutorService users = Executors.newFixedThreadPool(profile.users(),
+                runnable -> new Thread(runnable, "load-user-" + userNumber.incrementAndGet()));
+        for (int i = 0; i < profile.users(); i++) {
+            long startAt = start + profile.rampUp().toNanos() * i / profile.users();
+            users.submit(() -> runUser(startAt, start, deadline, results));
+        }
+        users.shutdown();
+        users.awaitTermination(profile.total().toMinutes() + 10, TimeUnit.MINUTES);
+        sampler.shutdownNow();
+        return results;
+    }
+
+    private void runUser(long startAt, long start, long deadline, LoadResults results) {
+        sleepNanos(startAt - System.nanoTime());
+        WebDriver driver;
+        try {
+            driver = createSession();
+        } catch (WebDriverException e) {
+            System.out.println("Synthetic user could not start a browser: " + e.getMessage());
+            results.recordSessionFailure();
+            return;
+        }
+        activeUsers.incrementAndGet();
+        try {
+            List<JourneyStep> steps = journey.apply(driver);
+            while (System.nanoTime() < deadline) {
+                // Every journey starts as a new guest with an empty cart.
+                driver.manage().deleteAllCookies();
+                boolean completed = true;
+                for (JourneyStep step : steps) {
+                    long stepStart = System.nanoTime();
+                    String phase = stepStart - start < profile.rampUp().toNanos() ? "ramp-up" : "steady";
+                    try {
+                        step.action().run();
+                        results.recordStep(phase, step.name(), (System.nanoTime() - stepStart) / 1000, secondOf(start));
+                    } catch (RuntimeException e) {
+                        results.recordError(phase, step.name());
+                        completed = false;
+                        break;
+                    }
+                    sleepNanos(profile.thinkTime().toNanos());
+                }
+                if (completed) {
+                    results.recordJourney(secondOf(start));
+                }
+            }
+        } finally {
+            activeUsers.decrementAndGet();
+            try {
+                driver.quit();
+            } catch (WebDriverException e) {
+                System.out.println(e.getMessage());
+            }
+        }
+    }
+
+    private WebDriver createSession() {
+        WebDriver driver;
+        if (browserType.equals("firefox")) {
+            FirefoxOptions options = new FirefoxOptions();
+            options.addArguments("-headless", "-width=1920", "-height=1080");
+            options.setPageLoadStrategy(DriverPool.pageLoadStrategy());
+            driver = new FirefoxDriver(options);
+        } else {
+            ChromeOptions options = new ChromeOptions();
+            options.addArguments("--headless=new", "--window-size=1920,1080");
+            options.setPageLoadStrategy(DriverPool.pageLoadStrategy());
+            options.addArguments(StorefrontReplay.chromeArguments());
+            driver = new ChromeDriver(options);
+        }
+        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(5));
+        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
+        return driver;
+    }
+
+    private static int secondOf(long start) {
+        return (int) TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start);
+    }
+
+    private static void sleepNanos(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package core.utilities.logs;
+
+import java.time.Instant;
+
+// One console message, uncaught exception or network/browser log line of a session.
+public record BrowserLogEntry(long timeMillis, Level level, Source source, String message) {
+
+    public enum Level {
+        DEBUG, INFO, WARNING, ERROR
+    }
+
+    public enum Source {
+        CONSOLE, EXCEPTION, NETWORK, BROWSER
+    }
+
+    @Override
+    public String toString() {
+        return Instant.ofEpochMilli(timeMillis) + " " + level + " [" + source.name().toLowerCase() + "] " + message;
+    }
+}
@@ -0,0 +1,175 @@
+package core.utilities.logs;
+
+import core.utilities.DevToolsSessions;
+import core.utilities.ConfigurationReader;
+import core.utilities.logs.BrowserLogEntry.Level;
+import core.utilities.logs.BrowserLogEntry.Source;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.v125.log.Log;
+import org.openqa.selenium.devtools.v125.log.model.LogEntry;
+import org.openqa.selenium.devtools.v125.runtime.Runtime;
+import org.openqa.selenium.devtools.v125.runtime.model.ConsoleAPICalled;
+import org.openqa.selenium.devtools.v125.runtime.model.ExceptionDetails;
+import org.openqa.selenium.devtools.v125.runtime.model.RemoteObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+public class BrowserLogRecorder {
+    // Records console messages (Runtime domain), uncaught exceptions and the browser's own log, which carries
+    // failed and 4xx/5xx requests (Log domain), of one session as they happen. Entries go into a fixed-size ring
+    // of preallocated arrays, so a chatty page costs one string per entry and old entries are overwritten.
+    private static final boolean enabled = Boolean.parseBoolean(
+            ConfigurationReader.getProperty("browser.logs.enabled", "true").trim());
+    private static final int bufferSize = ConfigurationReader.getIntProperty("browser.logs.buffer.size", 256);
+    private static final int maxMessageLength = 1000;
+    // A passed test fails when it logged entries at this level or above: off, error or warning.
+    private static final String failLevel = ConfigurationReader.getProperty("browser.logs.fail.level", "off").trim();
+    private static final Pattern failIgnore = Pattern.compile(
+            ConfigurationReader.getProperty("browser.logs.fail.ignore", "a^").trim());
+    private static final DevToolsSessions<BrowserLogRecorder> recorders = DevToolsSessions.register(BrowserLogRecorder::attach);
+
+    private final long[] times = new long[bufferSize];
+    private final byte[] levels = new byte[bufferSize];
+    private final byte[] sources = new byte[bufferSize];
+    private final String[] messages = new String[bufferSize];
+    private long written;
+    private long testStart;
+
+    private BrowserLogRecorder() {
+    }
+
+    // Null when recording is disabled (browser.logs.enabled) or the session has no DevTools.
+    public static BrowserLogRecorder forDriver(WebDriver driver) {
+        return enabled ? recorders.forDriver(driver) : null;
+    }
+
+    public static BrowserLogRecorder existing(WebDriver driver) {
+        return recorders.existing(driver);
+    }
+
+    private static BrowserLogRecorder attach(WebDriver driver) {
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            BrowserLogRecorder recorder = new BrowserLogRecorder();
+            devTools.addListener(Runtime.consoleAPICalled(), event ->
+                    recorder.add(consoleLevel(event.getType()), Source.CONSOLE, consoleText(event)));
+            devTools.addListener(Runtime.exceptionThrown(), event ->
+                    recorder.add(Level.ERROR, Source.EXCEPTION, exceptionText(event.getExceptionDetails())));
+            devTools.addListener(Log.entryAdded(), entry ->
+                    recorder.add(logLevel(entry.getLevel()),
+                            entry.getSource() == LogEntry.Source.NETWORK ? Source.NETWORK : Source.BROWSER,
+                            entry.getText() + entry.getUrl().map(url -> " " + url).orElse("")));
+            devTools.send(Runtime.enable());
+            devTools.send(Log.enable());
+            return recorder;
+        } catch (WebDriverException e) {
+            System.out.println("Browser log recording is not available: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static Level consoleLevel(ConsoleAPICalled.Type type) {
+        switch (type) {
+            case ERROR:
+            case ASSERT:
+                return Level.ERROR;
+            case WARNING:
+                return Level.WARNING;
+            case DEBUG:
+                return Level.DEBUG;
+            default:
+                return Level.INFO;
+        }
+    }
+
+    private static Level logLevel(LogEntry.Level level) {
+        switch (level) {
+            case ERROR:
+                return Level.ERROR;
+            case WARNING:
+                return Level.WARNING;
+            case VERBOSE:
+                return Level.DEBUG;
+            default:
+                return Level.INFO;
+        }
+    }
+
+    private static String consoleText(ConsoleAPICalled event) {
+        StringBuilder text = new StringBuilder();
+        for (RemoteObject argument : event.getArgs()) {
+            if (text.length() > 0) {
+                text.append(' ');
+            }
+            text.append(argument.getValue().map(String::valueOf)
+                    .or(argument::getDescription)
+                    .orElse(argument.getType().toString()));
+            if (text.length() >= maxMessageLength) {
+                break;
+            }
+        }
+        return text.toString();
+    }
+
+    private static String exceptionText(ExceptionDetails details) {
+        String text = details.getException().flatMap(RemoteObject::getDescription).orElse(details.getText());
+        return text + details.getUrl().map(url -> " at " + url + ":" + (details.getLineNumber() + 1)).orElse("");
+    }
+
+    private synchronized void add(Level level, Source source, String message) {
+        int slot = (int) (written % bufferSize);
+        times[slot] = System.currentTimeMillis();
+        levels[slot] = (byte) level.ordinal();
+        sources[slot] = (byte) source.ordinal();
+        messages[slot] = message.length() > maxMessageLength ? message.substring(0, maxMessageLength) : message;
+        written++;
+    }
+
+    // Starts a new test: entriesSinceStart only returns what is recorded from now on.
+    public synchronized void start() {
+        testStart = written;
+    }
+
+    // The most recent entries at or above the level since start(), oldest first, at most limit of them.
+    public synchronized List<BrowserLogEntry> entriesSinceStart(Level minimum, int limit) {
+        return entries(testStart, minimum, null, limit);
+    }
+
+    // Entries of the current test that fail it under browser.logs.fail.level; empty when that is off.
+    public synchronized List<BrowserLogEntry> failuresSinceStart() {
+        if (failLevel.equalsIgnoreCase("off")) {
+            return new ArrayList<>();
+        }
+        return entries(testStart, Level.valueOf(failLevel.toUpperCase()), failIgnore, bufferSize);
+    }
+
+    // Everything still in the ring, oldest first.
+    public synchronized List<BrowserLogEntry> allEntries() {
+        return entries(0, Level.DEBUG, null, bufferSize);
+    }
+
+    private List<BrowserLogEntry> entries(long from, Level minimum, Pattern ignore, int limit) {
+        List<BrowserLogEntry> entries = new ArrayList<>();
+        long first = Math.max(from, written - bufferSize);
+        for (long i = written - 1; i >= first && entries.size() < limit; i--) {
+            int slot = (int) (i % bufferSize);
+            if (levels[slot] < minimum.ordinal() || (ignore != null && ignore.matcher(messages[slot]).find())) {
+                continue;
+            }
+            entries.add(0, new BrowserLogEntry(times[slot], Level.values()[levels[slot]],
+                    Source.values()[sources[slot]], messages[slot]));
+        }
+        return entries;
+    }
+
+    // Entries of the current test overwritten before they could be read.
+    public synchronized long overwrittenSinceStart() {
+        return Math.max(0, written - testStart - bufferSize);
+    }
+}
@@ -0,0 +1,56 @@
+package core.utilities.metrics;
+
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+public class CommandLatencyListener implements WebDriverListener {
+    // Times every call on a decorated driver, its elements, navigation and options; failed calls are timed too.
+    private static final ThreadLocal<CallClock> clocks = ThreadLocal.withInitial(CallClock::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (method.getDeclaringClass() != WrapsDriver.class && method.getDeclaringClass() != WrapsElement.class) {
+            CommandMetrics.commandStarting();
+        }
+        clocks.get().start();
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        stop(method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        stop(method);
+    }
+
+    private void stop(Method method) {
+        long started = clocks.get().stop();
+        Class<?> declaringClass = method.getDeclaringClass();
+        if (started != 0 && declaringClass != WrapsDriver.class && declaringClass != WrapsElement.class) {
+            CommandMetrics.record(method.getName(), (System.nanoTime() - started) / 1000);
+        }
+    }
+
+    private static final class CallClock {
+        private long[] starts = new long[8];
+        private int depth;
+
+        private void start() {
+            if (depth == starts.length) {
+                starts = Arrays.copyOf(starts, depth * 2);
+            }
+            starts[depth++] = System.nanoTime();
+        }
+
+        private long stop() {
+            return depth == 0 ? 0 : starts[--depth];
+        }
+    }
+}
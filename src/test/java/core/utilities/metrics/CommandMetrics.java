@@ -0,0 +1,228 @@
+package core.utilities.metrics;
+
+import core.utilities.ConfigurationReader;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class CommandMetrics {
+    // Per-command WebDriver latency, tagged by the running test method and the page object that issued the command.
+    // The same command time is also summed per page-object step for the results history.
+    private static final boolean enabled = Boolean.parseBoolean(
+            ConfigurationReader.getProperty("metrics.commands.enabled", "true").trim());
+    private static final String metricName = "webdriver_command_latency_seconds";
+    private static final double[] quantiles = {0.5, 0.95, 0.99};
+    // Page attribution walks the calling stack on every command, so it can be turned off on its own; the walk stops
+    // at the test method or after maxStackDepth frames, whichever comes first.
+    private static final boolean pageSteps = Boolean.parseBoolean(
+            ConfigurationReader.getProperty("metrics.commands.pages", "true").trim());
+    private static final int maxStackDepth = 64;
+    private static final StackWalker stackWalker = StackWalker.getInstance();
+
+    private static final Map<Series, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private static final ThreadLocal<String> testMethod = ThreadLocal.withInitial(() -> "none");
+    private static final ThreadLocal<Map<String, Long>> pageStepMicros = ThreadLocal.withInitial(HashMap::new);
+    // Time from a test starting to acquire its browser until its first command, see awaitFirstCommand.
+    public static final String timeToFirstCommandAttribute = "timeToFirstCommandMs";
+    private static final ThreadLocal<Long> firstCommandFrom = new ThreadLocal<>();
+    private static final ThreadLocal<Long> timeToFirstCommandMicros = new ThreadLocal<>();
+    private static final LatencyHistogram timeToFirstCommand = new LatencyHistogram();
+
+    private CommandMetrics() {
+    }
+
+    // Wraps a new session so every command it runs is timed; returns the driver unchanged when metrics are off.
+    public static WebDriver decorate(WebDriver driver) {
+        if (!enabled || driver == null) {
+            return driver;
+        }
+        return new EventFiringDecorator<>(new CommandLatencyListener()).decorate(driver);
+    }
+
+    public static void setTestMethod(String name) {
+        testMethod.set(name);
+    }
+
+    public static void clearTestMethod() {
+        testMethod.remove();
+    }
+
+    // Times from startNanos to the next command the current thread issues.
+    public static void awaitFirstCommand(long startNanos) {
+        firstCommandFrom.set(startNanos);
+        timeToFirstCommandMicros.remove();
+    }
+
+    static void commandStarting() {
+        Long from = firstCommandFrom.get();
+        if (from != null) {
+            firstCommandFrom.remove();
+            long micros = (System.nanoTime() - from) / 1000;
+            timeToFirstCommandMicros.set(micros);
+            timeToFirstCommand.record(micros);
+        }
+    }
+
+    // Time to first command since awaitFirstCommand in milliseconds, or -1 when no command was issued.
+    public static long takeTimeToFirstCommandMillis() {
+        Long micros = timeToFirstCommandMicros.get();
+        firstCommandFrom.remove();
+        timeToFirstCommandMicros.remove();
+        return micros == null ? -1 : micros / 1000;
+    }
+
+    static void record(String command, long micros) {
+        StackWalker.StackFrame pageFrame = pageSteps ? callingPageFrame() : null;
+        String page = pageFrame == null ? "none" : simpleName(pageFrame.getClassName());
+        histograms.computeIfAbsent(new Series(command, testMethod.get(), page), series -> new LatencyHistogram())
+                .record(micros);
+        if (pageFrame != null) {
+            pageStepMicros.get().merge(page + "." + pageFrame.getMethodName(), micros, Long::sum);
+        }
+    }
+
+    // Driver time per page-object step (e.g. LoginPage.login) since the last call, in milliseconds.
+    public static Map<String, Long> drainPageSteps() {
+        Map<String, Long> steps = new TreeMap<>();
+        pageStepMicros.get().forEach((step, micros) -> steps.put(step, micros / 1000));
+        pageStepMicros.remove();
+        return steps;
+    }
+
+    // Outermost page-object frame on the calling stack, i.e. the step a test called; null for calls from tests
+    // or utilities.
+    private static StackWalker.StackFrame callingPageFrame() {
+        return stackWalker.walk(frames -> frames
+                .limit(maxStackDepth)
+                .takeWhile(frame -> !frame.getClassName().startsWith("core.tests."))
+                .filter(frame -> frame.getClassName().startsWith("core.pages."))
+                .reduce((inner, outer) -> outer)
+                .orElse(null));
+    }
+
+    private static String simpleName(String className) {
+        String simpleName = className.substring(className.lastIndexOf('.') + 1);
+        int nested = simpleName.indexOf('$');
+        return nested < 0 ? simpleName : simpleName.substring(0, nested);
+    }
+
+    // Latency per command over all tests and pages.
+    public static Map<String, LatencyHistogram> byCommand() {
+        Map<String, LatencyHistogram> merged = new TreeMap<>();
+        histograms.forEach((series, histogram) ->
+                histogram.mergeInto(merged.computeIfAbsent(series.command(), command -> new LatencyHistogram())));
+        return merged;
+    }
+
+    // Writes command-latency.txt (OpenMetrics) and command-latency.json into the directory.
+    public static void export(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Map<String, LatencyHistogram> commands = byCommand();
+        Map<Series, LatencyHistogram> series = new TreeMap<>(histograms);
+
+        StringBuilder text = new StringBuilder();
+        text.append("# TYPE ").append(metricName).append(" summary\n");
+        text.append("# UNIT ").append(metricName).append(" seconds\n");
+        text.append("# HELP ").append(metricName).append(" WebDriver command latency.\n");
+        commands.forEach((command, histogram) ->
+                appendSummary(text, "command=\"" + escape(command) + "\",test=\"all\",page=\"all\"", histogram));
+        series.forEach((key, histogram) -> appendSummary(text, "command=\"" + escape(key.command())
+                + "\",test=\"" + escape(key.test()) + "\",page=\"" + escape(key.page()) + "\"", histogram));
+        text.append("# EOF\n");
+        Files.write(directory.resolve("command-latency.txt"), text.toString().getBytes(StandardCharsets.UTF_8));
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        Map<String, Object> commandStats = new LinkedHashMap<>();
+        commands.forEach((command, histogram) -> commandStats.put(command, stats(histogram)));
+        json.put("commands", commandStats);
+        List<Map<String, Object>> seriesStats = new ArrayList<>();
+        series.forEach((key, histogram) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("command", key.command());
+            entry.put("test", key.test());
+            entry.put("page", key.page());
+            entry.putAll(stats(histogram));
+            seriesStats.add(entry);
+        });
+        json.put("series", seriesStats);
+        Files.write(directory.resolve("command-latency.json"),
+                new Json().toJson(json).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void appendSummary(StringBuilder text, String labels, LatencyHistogram histogram) {
+        for (double quantile : quantiles) {
+            text.append(metricName).append('{').append(labels).append(",quantile=\"").append(quantile).append("\"} ")
+                    .append(seconds(histogram.percentile(quantile))).append('\n');
+        }
+        text.append(metricName).append("_sum{").append(labels).append("} ")
+                .append(seconds(histogram.getSumMicros())).append('\n');
+        text.append(metricName).append("_count{").append(labels).append("} ")
+                .append(histogram.getCount()).append('\n');
+    }
+
+    private static Map<String, Object> stats(LatencyHistogram histogram) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("count", histogram.getCount());
+        stats.put("p50Ms", millis(histogram.percentile(0.5)));
+        stats.put("p95Ms", millis(histogram.percentile(0.95)));
+        stats.put("p99Ms", millis(histogram.percentile(0.99)));
+        stats.put("maxMs", millis(histogram.getMaxMicros()));
+        stats.put("totalMs", millis(histogram.getSumMicros()));
+        return stats;
+    }
+
+    private static String seconds(long micros) {
+        return String.format(Locale.ROOT, "%.6f", micros / 1_000_000.0);
+    }
+
+    private static double millis(long micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+
+    private static String escape(String label) {
+        return label.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    // Slowest commands by total time, for the end of suite summary.
+    public static String getReport() {
+        StringBuilder report = new StringBuilder("Command latency (p50/p95/p99 ms):");
+        byCommand().entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().getSumMicros(), a.getValue().getSumMicros()))
+                .limit(8)
+                .forEach(entry -> report.append(' ').append(entry.getKey()).append('=')
+                        .append(millis(entry.getValue().percentile(0.5))).append('/')
+                        .append(millis(entry.getValue().percentile(0.95))).append('/')
+                        .append(millis(entry.getValue().percentile(0.99))));
+        if (timeToFirstCommand.getCount() > 0) {
+            report.append("\nTime to first command (p50/p95/max ms): ")
+                    .append(millis(timeToFirstCommand.percentile(0.5))).append('/')
+                    .append(millis(timeToFirstCommand.percentile(0.95))).append('/')
+                    .append(millis(timeToFirstCommand.getMaxMicros()));
+        }
+        return report.toString();
+    }
+
+    private record Series(String command, String test, String page) implements Comparable<Series> {
+        @Override
+        public int compareTo(Series other) {
+            int order = command.compareTo(other.command);
+            if (order == 0) {
+                order = test.compareTo(other.test);
+            }
+            return order != 0 ? order : page.compareTo(other.page);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package core.utilities.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LatencyHistogram {
+    // Log-linear histogram of microsecond values: every power of two is split into 8 linear buckets,
+    // so a reported percentile is at most 12.5% above the recorded value. Recording is a single atomic increment.
+    private static final int subBucketBits = 3;
+    private static final int subBuckets = 1 << subBucketBits;
+    private static final int bucketCount = (64 - subBucketBits + 1) * subBuckets;
+
+    private final AtomicLongArray counts = new AtomicLongArray(bucketCount);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public void record(long micros) {
+        long value = Math.max(0, micros);
+        counts.incrementAndGet(bucketIndex(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < subBuckets) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - subBucketBits)) & (subBuckets - 1);
+        return (exponent - subBucketBits + 1) * subBuckets + subBucket;
+    }
+
+    // Highest value that lands in the bucket.
+    static long bucketUpperBound(int index) {
+        if (index < subBuckets) {
+            return index;
+        }
+        int exponent = index / subBuckets + subBucketBits - 1;
+        long lower = (long) (subBuckets + index % subBuckets) << (exponent - subBucketBits);
+        return lower + (1L << (exponent - subBucketBits)) - 1;
+    }
+
+    public void mergeInto(LatencyHistogram target) {
+        for (int i = 0; i < bucketCount; i++) {
+            long bucket = counts.get(i);
+            if (bucket > 0) {
+                target.counts.addAndGet(i, bucket);
+            }
+        }
+        target.count.add(count.sum());
+        target.sum.add(sum.sum());
+        target.max.accumulate(max.get());
+    }
+
+    // Value at the quantile (0..1) in microseconds, capped at the recorded maximum.
+    public long percentile(double quantile) {
+        long total = count.sum();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSumMicros() {
+        return sum.sum();
+    }
+
+    public long getMaxMicros() {
+        return max.get();
+    }
+}
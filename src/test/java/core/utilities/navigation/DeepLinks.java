@@ -0,0 +1,33 @@
+package core.utilities.navigation;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class DeepLinks {
+    // Direct URLs of the storefront's pages, read once from a link to the page and shared by every session of the run.
+    // The link is looked up in one script call, so a page without it costs no implicit wait.
+    private static final String hrefScript =
+            "var link = document.evaluate(arguments[0], document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null)"
+                    + ".singleNodeValue;"
+                    + "return link && link.href ? link.href : null;";
+
+    private static final Map<String, String> urls = new ConcurrentHashMap<>();
+
+    // Throws NotFoundException when the URL is not cached yet and the current page has no such link.
+    public static String url(WebDriver driver, String page, String linkXpath) {
+        String url = urls.get(page);
+        if (url != null) {
+            return url;
+        }
+        Object href = ((JavascriptExecutor) driver).executeScript(hrefScript, linkXpath);
+        if (href == null || href.toString().isEmpty()) {
+            throw new NotFoundException("No link to " + page + " on " + driver.getCurrentUrl());
+        }
+        urls.putIfAbsent(page, href.toString());
+        return href.toString();
+    }
+}
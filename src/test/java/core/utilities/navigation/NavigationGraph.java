@@ -0,0 +1,128 @@
+package core.utilities.navigation;
+
+import core.utilities.ConfigurationReader;
+import core.utilities.ReadinessContract;
+import org.openqa.selenium.WebDriver;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+public class NavigationGraph {
+    // Pages, recognized by their URL path and ready when their contract holds, and the routes page objects
+    // declare between them.
+    // Shortest paths are computed once per start, target and allowed route kinds.
+    private static final EnumSet<Route.Kind> allKinds = EnumSet.allOf(Route.Kind.class);
+    private static final EnumSet<Route.Kind> userInterfaceKinds = EnumSet.of(Route.Kind.LINK, Route.Kind.MENU);
+
+    private final Map<String, Pattern> pages = new LinkedHashMap<>();
+    private final Map<String, ReadinessContract> readiness = new HashMap<>();
+    private final Map<String, List<Route>> routes = new HashMap<>();
+    private final Map<String, List<Route>> shortestPaths = new ConcurrentHashMap<>();
+
+    public void page(String name, String pathRegex, ReadinessContract contract) {
+        pages.put(name, Pattern.compile(pathRegex));
+        readiness.put(name, contract);
+    }
+
+    public ReadinessContract readiness(String page) {
+        return readiness.get(page);
+    }
+
+    public void route(String from, String to, Route.Kind kind, int cost, Consumer<WebDriver> step) {
+        routes.computeIfAbsent(from, page -> new ArrayList<>()).add(new Route(from, to, kind, cost, step));
+        shortestPaths.clear();
+    }
+
+    // A direct navigation from anywhere, to the URL of the first link matching linkXpath.
+    public void deepLink(String to, String linkXpath) {
+        route(Route.anywhere, to, Route.Kind.DEEP_LINK, 1, driver -> driver.get(DeepLinks.url(driver, to, linkXpath)));
+    }
+
+    // The page the URL belongs to, or Route.anywhere for pages the graph does not know.
+    public String locate(String url) {
+        String path = URI.create(url).getPath();
+        for (Map.Entry<String, Pattern> page : pages.entrySet()) {
+            if (path != null && page.getValue().matcher(path).find()) {
+                return page.getKey();
+            }
+        }
+        return Route.anywhere;
+    }
+
+    // navigation.mode=menu restricts every navigation to the menus and links a user would click.
+    public static EnumSet<Route.Kind> configuredKinds() {
+        return ConfigurationReader.getProperty("navigation.mode", "direct").trim().equalsIgnoreCase("menu")
+                ? userInterfaceKinds : allKinds;
+    }
+
+    public static EnumSet<Route.Kind> userInterfaceKinds() {
+        return userInterfaceKinds;
+    }
+
+    // Dijkstra over the declared routes; routes from anywhere leave every page.
+    public List<Route> shortestPath(String from, String to, Set<Route.Kind> kinds) {
+        return shortestPaths.computeIfAbsent(from + "->" + to + kinds, key -> search(from, to, kinds));
+    }
+
+    private List<Route> search(String from, String to, Set<Route.Kind> kinds) {
+        Map<String, Integer> distances = new HashMap<>();
+        Map<String, Route> arrivals = new HashMap<>();
+        PriorityQueue<Object[]> queue = new PriorityQueue<>((a, b) -> Integer.compare((int) a[1], (int) b[1]));
+        distances.put(from, 0);
+        queue.add(new Object[]{from, 0});
+        while (!queue.isEmpty()) {
+            Object[] next = queue.poll();
+            String page = (String) next[0];
+            int distance = (int) next[1];
+            if (distance > distances.get(page)) {
+                continue;
+            }
+            if (page.equals(to)) {
+                break;
+            }
+            for (Route route : routesFrom(page)) {
+                if (!kinds.contains(route.kind())) {
+                    continue;
+                }
+                int candidate = distance + route.cost();
+                if (candidate < distances.getOrDefault(route.to(), Integer.MAX_VALUE)) {
+                    distances.put(route.to(), candidate);
+                    arrivals.put(route.to(), route);
+                    queue.add(new Object[]{route.to(), candidate});
+                }
+            }
+        }
+        if (!arrivals.containsKey(to)) {
+            throw new IllegalStateException("No route from " + from + " to " + to + " with " + kinds);
+        }
+        List<Route> path = new ArrayList<>();
+        for (String page = to; !page.equals(from); page = arrivals.get(page).from()) {
+            Route route = arrivals.get(page);
+            path.add(route);
+            if (route.from().equals(Route.anywhere)) {
+                break;
+            }
+        }
+        Collections.reverse(path);
+        return Collections.unmodifiableList(path);
+    }
+
+    private List<Route> routesFrom(String page) {
+        List<Route> from = new ArrayList<>(routes.getOrDefault(page, Collections.emptyList()));
+        if (!page.equals(Route.anywhere)) {
+            from.addAll(routes.getOrDefault(Route.anywhere, Collections.emptyList()));
+        }
+        return from;
+    }
+}
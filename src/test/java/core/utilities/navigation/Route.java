@@ -0,0 +1,21 @@
+package core.utilities.navigation;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.function.Consumer;
+
+// One way from a page to another. The cost is roughly the number of round trips it takes:
+// a deep link is a single navigation, a menu walk is a hover or click per level plus the navigation.
+public record Route(String from, String to, Kind kind, int cost, Consumer<WebDriver> step) {
+    // Routes from here start on any storefront page, e.g. deep links and the header menus.
+    public static final String anywhere = "*";
+
+    public enum Kind {
+        DEEP_LINK, LINK, MENU
+    }
+
+    @Override
+    public String toString() {
+        return from + " -> " + to + " (" + kind + ", cost " + cost + ")";
+    }
+}
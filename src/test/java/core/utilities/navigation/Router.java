@@ -0,0 +1,63 @@
+package core.utilities.navigation;
+
+import core.utilities.ReadinessContract;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.WebDriver;
+import org.testng.Reporter;
+
+import java.util.List;
+import java.util.Set;
+
+public class Router {
+    // Takes the cheapest declared route from the page the driver is on to a target page,
+    // and returns as soon as the target's readiness contract holds.
+    private final WebDriver driver;
+    private final NavigationGraph graph;
+
+    public Router(WebDriver driver, NavigationGraph graph) {
+        this.driver = driver;
+        this.graph = graph;
+    }
+
+    // A deep link where one exists, unless navigation.mode=menu.
+    public void navigate(String target) {
+        go(target, NavigationGraph.configuredKinds());
+    }
+
+    // Only the menus and links a user would click, for tests that cover them.
+    public void walk(String target) {
+        go(target, NavigationGraph.userInterfaceKinds());
+    }
+
+    private void go(String target, Set<Route.Kind> kinds) {
+        String from = graph.locate(driver.getCurrentUrl());
+        if (from.equals(target)) {
+            // The URL changes before the page is usable, e.g. while it is still loading with the eager strategy.
+            ReadinessContract contract = graph.readiness(target);
+            if (contract != null) {
+                contract.await(driver);
+            }
+            return;
+        }
+        List<Route> path = graph.shortestPath(from, target, kinds);
+        long started = System.nanoTime();
+        for (Route route : path) {
+            try {
+                route.step().accept(driver);
+            } catch (NotFoundException e) {
+                if (route.kind() != Route.Kind.DEEP_LINK) {
+                    throw e;
+                }
+                // The deep link has not been seen yet and this page does not link to it.
+                Reporter.log(e.getMessage() + ", walking to " + target + " instead.");
+                walk(target);
+                return;
+            }
+        }
+        ReadinessContract contract = graph.readiness(target);
+        if (contract != null) {
+            contract.await(driver, started);
+        }
+        Reporter.log("Navigated to " + target + ": " + path);
+    }
+}
@@ -0,0 +1,196 @@
+package core.utilities.replay;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.v125.network.Network;
+import org.openqa.selenium.devtools.v125.network.model.Headers;
+import org.openqa.selenium.devtools.v125.network.model.PostDataEntry;
+import org.openqa.selenium.devtools.v125.network.model.Request;
+import org.openqa.selenium.devtools.v125.network.model.RequestId;
+import org.openqa.selenium.devtools.v125.network.model.Response;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+public class ExchangeRecorder {
+    // Captures every exchange with the storefront origin from the sessions it is attached to into a ReplayArchive.
+    // Headers that only make sense on the real https origin, or that the replay server sets itself.
+    private static final Set<String> droppedHeaders = new HashSet<>(Arrays.asList(
+            "content-encoding", "content-length", "transfer-encoding", "connection", "keep-alive",
+            "strict-transport-security", "alt-svc", "content-security-policy", "content-security-policy-report-only",
+            "report-to", "nel"));
+    private static final Pattern cookieDomain = Pattern.compile(";\\s*domain=[^;]*", Pattern.CASE_INSENSITIVE);
+    private static final Pattern cookieSecure = Pattern.compile(";\\s*(secure|samesite=none)(?=;|$)", Pattern.CASE_INSENSITIVE);
+
+    private final ReplayArchive.Writer writer;
+    private final String origin;
+    private final List<String> originSpellings;
+    // Response bodies are fetched off the DevTools event thread.
+    private final ExecutorService bodyFetcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replay-recorder");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final LongAdder missedBodies = new LongAdder();
+
+    public ExchangeRecorder(ReplayArchive.Writer writer, String origin) {
+        this.writer = writer;
+        this.origin = origin;
+        String host = origin.substring(origin.indexOf("://") + 3);
+        this.originSpellings = Arrays.asList(origin, origin.replace("/", "\\/"), "//" + host);
+    }
+
+    // Returns the session's DevTools with the recording listeners added, or null when it cannot be recorded.
+    public DevTools attach(WebDriver driver) {
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            Map<String, PendingExchange> pending = new ConcurrentHashMap<>();
+            Map<String, Headers> rawHeaders = new ConcurrentHashMap<>();
+            devTools.addListener(Network.requestWillBeSent(), event -> {
+                String id = event.getRequestId().toString();
+                PendingExchange previous = pending.remove(id);
+                if (previous != null && event.getRedirectResponse().isPresent()) {
+                    Response redirect = event.getRedirectResponse().get();
+                    record(previous, redirect.getStatus(), headersOf(redirect.getHeaders()), new byte[0]);
+                }
+                String url = event.getRequest().getUrl();
+                if (url.startsWith(origin)) {
+                    pending.put(id, new PendingExchange(event.getRequest().getMethod(),
+                            ReplayKeys.pathAndQuery(url), postData(event.getRequest())));
+                }
+            });
+            devTools.addListener(Network.responseReceivedExtraInfo(), event ->
+                    rawHeaders.put(event.getRequestId().toString(), event.getHeaders()));
+            devTools.addListener(Network.responseReceived(), event -> {
+                PendingExchange exchange = pending.get(event.getRequestId().toString());
+                if (exchange != null) {
+                    exchange.status = event.getResponse().getStatus();
+                    exchange.headers = event.getResponse().getHeaders();
+                }
+            });
+            devTools.addListener(Network.loadingFinished(), event -> {
+                RequestId requestId = event.getRequestId();
+                PendingExchange exchange = pending.remove(requestId.toString());
+                Headers extraHeaders = rawHeaders.remove(requestId.toString());
+                if (exchange == null || exchange.headers == null) {
+                    return;
+                }
+                Headers headers = extraHeaders != null ? extraHeaders : exchange.headers;
+                bodyFetcher.submit(() -> {
+                    try {
+                        Network.GetResponseBodyResponse body = devTools.send(Network.getResponseBody(requestId));
+                        byte[] bytes = body.getBase64Encoded()
+                                ? Base64.getDecoder().decode(body.getBody())
+                                : rewriteOrigin(body.getBody()).getBytes(StandardCharsets.UTF_8);
+                        record(exchange, exchange.status, headersOf(headers), bytes);
+                    } catch (WebDriverException e) {
+                        missedBodies.increment();
+                    }
+                });
+            });
+            devTools.addListener(Network.loadingFailed(), event -> {
+                pending.remove(event.getRequestId().toString());
+                rawHeaders.remove(event.getRequestId().toString());
+            });
+            devTools.send(Network.enable(Optional.empty(), Optional.empty(), Optional.empty()));
+            // Every exchange has to reach the network once to be recorded.
+            devTools.send(Network.setCacheDisabled(true));
+            return devTools;
+        } catch (WebDriverException e) {
+            System.out.println("Session could not be recorded: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // The raw request body from its base64 post data entries; empty when there is none.
+    private static byte[] postData(Request request) {
+        if (!request.getHasPostData().orElse(false)) {
+            return new byte[0];
+        }
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (PostDataEntry entry : request.getPostDataEntries().orElse(List.of())) {
+            entry.getBytes().ifPresent(bytes -> body.writeBytes(Base64.getDecoder().decode(bytes)));
+        }
+        return body.toByteArray();
+    }
+
+    private void record(PendingExchange exchange, int status, List<String[]> headers, byte[] body) {
+        try {
+            writer.append(exchange.method, exchange.pathAndQuery, exchange.requestBody, status, headers, body);
+        } catch (IOException e) {
+            System.out.println("Exchange could not be written to the replay archive: " + e.getMessage());
+        }
+    }
+
+    // Absolute links to the storefront become root-relative, so the same bytes work on the replay server's origin.
+    private String rewriteOrigin(String text) {
+        for (String spelling : originSpellings) {
+            text = text.replace(spelling, "");
+        }
+        return text;
+    }
+
+    private List<String[]> headersOf(Headers headers) {
+        List<String[]> result = new ArrayList<>();
+        headers.forEach((name, value) -> {
+            String lowerName = name.toLowerCase();
+            if (droppedHeaders.contains(lowerName) || value == null) {
+                return;
+            }
+            for (String line : value.toString().split("\n")) {
+                if (lowerName.equals("set-cookie")) {
+                    line = cookieSecure.matcher(cookieDomain.matcher(line).replaceAll("")).replaceAll("");
+                } else if (lowerName.equals("location")) {
+                    line = rewriteOrigin(line);
+                    line = line.isEmpty() ? "/" : line;
+                }
+                result.add(new String[]{name, line});
+            }
+        });
+        return result;
+    }
+
+    // Waits for bodies still being fetched, then writes the archive index.
+    public void close() throws IOException {
+        bodyFetcher.shutdown();
+        try {
+            bodyFetcher.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer.close();
+        System.out.println("Replay archive recorded: exchanges=" + writer.size() + ", missedBodies=" + missedBodies.sum());
+    }
+
+    private static final class PendingExchange {
+        private final String method;
+        private final String pathAndQuery;
+        private final byte[] requestBody;
+        private volatile int status;
+        private volatile Headers headers;
+
+        private PendingExchange(String method, String pathAndQuery, byte[] requestBody) {
+            this.method = method;
+            this.pathAndQuery = pathAndQuery;
+            this.requestBody = requestBody;
+        }
+    }
+}
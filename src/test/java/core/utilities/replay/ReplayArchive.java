@@ -0,0 +1,160 @@
+package core.utilities.replay;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ReplayArchive {
+    // On-disk archive of recorded HTTP exchanges: a compact binary index plus one file of concatenated bodies.
+    // Replay keeps the index in hash maps and memory-maps the bodies, so a lookup never copies or reads from disk.
+    private static final int magic = 0x52504c59;
+    private static final int version = 1;
+    static final String indexFile = "exchanges.idx";
+    static final String bodiesFile = "bodies.bin";
+
+    private final Map<String, Sequence> exact = new HashMap<>();
+    private final Map<String, Sequence> loose = new HashMap<>();
+    private final MappedByteBuffer bodies;
+    private final int size;
+
+    private ReplayArchive(List<Exchange> exchanges, MappedByteBuffer bodies) {
+        this.bodies = bodies;
+        this.size = exchanges.size();
+        for (Exchange exchange : exchanges) {
+            exact.computeIfAbsent(exchange.exactKey(), key -> new Sequence()).exchanges.add(exchange);
+            loose.computeIfAbsent(exchange.looseKey(), key -> new Sequence()).exchanges.add(exchange);
+        }
+    }
+
+    public static ReplayArchive open(Path directory) throws IOException {
+        List<Exchange> exchanges = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Files.newInputStream(directory.resolve(indexFile))))) {
+            if (in.readInt() != magic || in.readInt() != version) {
+                throw new IOException("Not a replay archive index: " + directory.resolve(indexFile));
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String exactKey = in.readUTF();
+                String looseKey = in.readUTF();
+                int status = in.readInt();
+                int headerCount = in.readShort();
+                List<String[]> headers = new ArrayList<>(headerCount);
+                for (int h = 0; h < headerCount; h++) {
+                    headers.add(new String[]{in.readUTF(), in.readUTF()});
+                }
+                exchanges.add(new Exchange(exactKey, looseKey, status, headers, in.readLong(), in.readInt()));
+            }
+        }
+        try (FileChannel channel = FileChannel.open(directory.resolve(bodiesFile), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Replay bodies larger than 2 GB are not supported.");
+            }
+            return new ReplayArchive(exchanges, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    // Exact matches are served in recording order, so a page requested twice replays both versions;
+    // after the last one the final version keeps being served. Falls back to method + path when nothing matches.
+    // Every browser session has its own position in each sequence, so parallel sessions do not advance each other.
+    public Exchange lookup(String session, String method, String pathAndQuery, byte[] body) {
+        Sequence sequence = exact.get(ReplayKeys.exactKey(method, pathAndQuery, body));
+        if (sequence == null) {
+            sequence = loose.get(ReplayKeys.looseKey(method, pathAndQuery));
+        }
+        return sequence == null ? null : sequence.next(session);
+    }
+
+    // Read-only view of the body; no bytes are copied.
+    public ByteBuffer body(Exchange exchange) {
+        ByteBuffer view = bodies.duplicate();
+        view.position((int) exchange.offset()).limit((int) exchange.offset() + exchange.length());
+        return view.slice();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public record Exchange(String exactKey, String looseKey, int status, List<String[]> headers,
+                           long offset, int length) {
+    }
+
+    private static final class Sequence {
+        private final List<Exchange> exchanges = new ArrayList<>();
+        private final Map<String, AtomicInteger> cursors = new ConcurrentHashMap<>();
+
+        private Exchange next(String session) {
+            int index = cursors.computeIfAbsent(session, key -> new AtomicInteger()).getAndIncrement();
+            return exchanges.get(Math.min(index, exchanges.size() - 1));
+        }
+    }
+
+    // Appends bodies as they are captured and writes the index on close.
+    public static final class Writer implements Closeable {
+        private final Path directory;
+        private final FileChannel bodies;
+        private final List<Exchange> exchanges = new ArrayList<>();
+        private long offset;
+
+        public Writer(Path directory) throws IOException {
+            this.directory = directory;
+            Files.createDirectories(directory);
+            this.bodies = FileChannel.open(directory.resolve(bodiesFile), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        public synchronized void append(String method, String pathAndQuery, byte[] requestBody, int status,
+                                        List<String[]> headers, byte[] body) throws IOException {
+            ByteBuffer buffer = ByteBuffer.wrap(body);
+            while (buffer.hasRemaining()) {
+                bodies.write(buffer);
+            }
+            exchanges.add(new Exchange(ReplayKeys.exactKey(method, pathAndQuery, requestBody),
+                    ReplayKeys.looseKey(method, pathAndQuery), status, headers, offset, body.length));
+            offset += body.length;
+        }
+
+        public synchronized int size() {
+            return exchanges.size();
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            bodies.close();
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(directory.resolve(indexFile))))) {
+                out.writeInt(magic);
+                out.writeInt(version);
+                out.writeInt(exchanges.size());
+                for (Exchange exchange : exchanges) {
+                    out.writeUTF(exchange.exactKey());
+                    out.writeUTF(exchange.looseKey());
+                    out.writeInt(exchange.status());
+                    out.writeShort(exchange.headers().size());
+                    for (String[] header : exchange.headers()) {
+                        out.writeUTF(header[0]);
+                        out.writeUTF(header[1]);
+                    }
+                    out.writeLong(exchange.offset());
+                    out.writeInt(exchange.length());
+                }
+            }
+        }
+    }
+}
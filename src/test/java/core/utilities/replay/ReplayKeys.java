@@ -0,0 +1,90 @@
+package core.utilities.replay;
+
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+public class ReplayKeys {
+    // Builds the lookup keys shared by recording and replay, with volatile fields normalized away.
+    // Parameters whose values change on every page load and never select different content.
+    private static final Set<String> volatileParameters = new HashSet<>(Arrays.asList(
+            "form_key", "uenc", "_", "__", "timestamp", "t", "sid"));
+    // Long digit runs in the remaining values are timestamps or cache busters.
+    private static final Pattern timestampValue = Pattern.compile("\\d{10,}");
+
+    private ReplayKeys() {
+    }
+
+    // method + normalized path and query + hash of the normalized body, e.g. "POST /customer/account/loginPost/ 3fa1..."
+    public static String exactKey(String method, String pathAndQuery, byte[] body) {
+        return method.toUpperCase() + " " + normalizePathAndQuery(pathAndQuery) + " " + bodyHash(body);
+    }
+
+    // Used when nothing matches exactly: method and path only.
+    public static String looseKey(String method, String pathAndQuery) {
+        int queryStart = pathAndQuery.indexOf('?');
+        String path = queryStart < 0 ? pathAndQuery : pathAndQuery.substring(0, queryStart);
+        return method.toUpperCase() + " " + path;
+    }
+
+    // Strips scheme and host from an absolute URL.
+    public static String pathAndQuery(String url) {
+        URI uri = URI.create(url);
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        return uri.getRawQuery() == null ? path : path + "?" + uri.getRawQuery();
+    }
+
+    static String normalizePathAndQuery(String pathAndQuery) {
+        int queryStart = pathAndQuery.indexOf('?');
+        if (queryStart < 0) {
+            return pathAndQuery;
+        }
+        String query = normalizeForm(pathAndQuery.substring(queryStart + 1));
+        String path = pathAndQuery.substring(0, queryStart);
+        return query.isEmpty() ? path : path + "?" + query;
+    }
+
+    // Sorts url-encoded parameters and drops the volatile ones, for query strings and form bodies alike.
+    static String normalizeForm(String form) {
+        TreeSet<String> parameters = new TreeSet<>();
+        for (String parameter : form.split("&")) {
+            if (parameter.isEmpty()) {
+                continue;
+            }
+            int equals = parameter.indexOf('=');
+            String name = URLDecoder.decode(equals < 0 ? parameter : parameter.substring(0, equals), StandardCharsets.UTF_8);
+            if (volatileParameters.contains(name)) {
+                continue;
+            }
+            parameters.add(timestampValue.matcher(parameter).replaceAll("#"));
+        }
+        return String.join("&", parameters);
+    }
+
+    static String bodyHash(byte[] body) {
+        if (body == null || body.length == 0) {
+            return "-";
+        }
+        String text = new String(body, StandardCharsets.UTF_8);
+        byte[] normalized = text.contains("=") && !text.trim().startsWith("{")
+                ? normalizeForm(text).getBytes(StandardCharsets.UTF_8)
+                : timestampValue.matcher(text).replaceAll("#").getBytes(StandardCharsets.UTF_8);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(normalized);
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 8; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package core.utilities.replay;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ReplayServer {
+    // Embedded HTTP server that answers the browser from a ReplayArchive instead of the real storefront.
+    private final ReplayArchive archive;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final LongAdder served = new LongAdder();
+    private final LongAdder unmatched = new LongAdder();
+
+    public ReplayServer(ReplayArchive archive, int port) throws IOException {
+        this.archive = archive;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()), runnable -> {
+            Thread thread = new Thread(runnable, "replay-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::serve);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            byte[] requestBody;
+            try (InputStream in = exchange.getRequestBody()) {
+                requestBody = in.readAllBytes();
+            }
+            String pathAndQuery = exchange.getRequestURI().getRawQuery() == null
+                    ? exchange.getRequestURI().getRawPath()
+                    : exchange.getRequestURI().getRawPath() + "?" + exchange.getRequestURI().getRawQuery();
+            String session = exchange.getRequestHeaders().getFirst(StorefrontReplay.sessionHeader);
+            ReplayArchive.Exchange recorded = archive.lookup(session == null ? "" : session,
+                    exchange.getRequestMethod(), pathAndQuery, requestBody);
+            if (recorded == null) {
+                unmatched.increment();
+                byte[] message = ("Not recorded: " + exchange.getRequestMethod() + " " + pathAndQuery)
+                        .getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(404, message.length);
+                exchange.getResponseBody().write(message);
+                return;
+            }
+            for (String[] header : recorded.headers()) {
+                exchange.getResponseHeaders().add(header[0], header[1]);
+            }
+            ByteBuffer body = archive.body(recorded);
+            boolean noBody = body.remaining() == 0 || "HEAD".equals(exchange.getRequestMethod());
+            exchange.sendResponseHeaders(recorded.status(), noBody ? -1 : body.remaining());
+            if (!noBody) {
+                OutputStream out = exchange.getResponseBody();
+                WritableByteChannel channel = Channels.newChannel(out);
+                while (body.hasRemaining()) {
+                    channel.write(body);
+                }
+            }
+            served.increment();
+        }
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+        System.out.println("Replay server: served=" + served.sum() + ", unmatched=" + unmatched.sum()
+                + ", recordedExchanges=" + archive.size());
+    }
+}
@@ -0,0 +1,132 @@
+package core.utilities.replay;
+
+import core.globals.Globals;
+import core.utilities.ConfigurationReader;
+import core.utilities.DevToolsSessions;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.v125.network.Network;
+import org.openqa.selenium.devtools.v125.network.model.Headers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class StorefrontReplay {
+    // Entry point for replay.mode: "off" talks to Globals.baseUrl, "record" captures every storefront exchange
+    // into the archive, "replay" serves the archive from a local server and keeps the browser off the network.
+    private static final String mode = ConfigurationReader.getProperty("replay.mode", "off").trim().toLowerCase();
+    private static final Path archiveDirectory = Paths.get(
+            ConfigurationReader.getProperty("replay.archive", ".cache/replay"));
+    // Sent by every replaying session, so the server keeps a replay position per session.
+    static final String sessionHeader = "X-Replay-Session";
+    private static final AtomicInteger replaySessions = new AtomicInteger();
+
+    private static ExchangeRecorder recorder;
+    private static ReplayServer server;
+    // Recording listeners and session tags are DevTools attachments like the others, so quitting drops them.
+    private static final DevToolsSessions<DevTools> recordedSessions =
+            DevToolsSessions.register(driver -> recorder == null ? null : recorder.attach(driver));
+    private static final DevToolsSessions<String> taggedSessions = DevToolsSessions.register(StorefrontReplay::tagSession);
+
+    private StorefrontReplay() {
+    }
+
+    public static boolean isRecording() {
+        return mode.equals("record");
+    }
+
+    public static boolean isReplaying() {
+        return mode.equals("replay");
+    }
+
+    // Base url the browser should use: the local replay server while replaying, the real storefront otherwise.
+    public static synchronized String getBaseUrl() {
+        if (!isReplaying()) {
+            return Globals.baseUrl;
+        }
+        if (server == null) {
+            try {
+                server = new ReplayServer(ReplayArchive.open(archiveDirectory),
+                        ConfigurationReader.getIntProperty("replay.port", 0));
+                server.start();
+                System.out.println("Replaying " + archiveDirectory + " on " + server.getBaseUrl());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Replay archive could not be opened: " + archiveDirectory, e);
+            }
+        }
+        return server.getBaseUrl();
+    }
+
+    // Chrome switches for replay: every host except the local server fails to resolve, so nothing leaves the machine.
+    public static String[] chromeArguments() {
+        if (!isReplaying()) {
+            return new String[0];
+        }
+        return new String[]{"--host-resolver-rules=MAP * ~NOTFOUND , EXCLUDE 127.0.0.1"};
+    }
+
+    // Called for every new session before its first navigation.
+    public static synchronized void onSessionCreated(WebDriver driver) {
+        if (isReplaying()) {
+            taggedSessions.forDriver(driver);
+            return;
+        }
+        if (!isRecording()) {
+            return;
+        }
+        if (recorder == null) {
+            try {
+                String origin = Globals.baseUrl.endsWith("/")
+                        ? Globals.baseUrl.substring(0, Globals.baseUrl.length() - 1)
+                        : Globals.baseUrl;
+                recorder = new ExchangeRecorder(new ReplayArchive.Writer(archiveDirectory), origin);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Replay archive could not be created: " + archiveDirectory, e);
+            }
+        }
+        if (!(driver instanceof HasDevTools)) {
+            System.out.println("Recording needs a DevTools capable browser, the session is not recorded.");
+            return;
+        }
+        recordedSessions.forDriver(driver);
+    }
+
+    // Adds the session header to every request of the session and returns its tag; without DevTools the session
+    // shares the replay positions of other untagged sessions.
+    private static String tagSession(WebDriver driver) {
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            devTools.send(Network.enable(Optional.empty(), Optional.empty(), Optional.empty()));
+            String tag = String.valueOf(replaySessions.incrementAndGet());
+            devTools.send(Network.setExtraHTTPHeaders(new Headers(Map.of(sessionHeader, tag))));
+            return tag;
+        } catch (WebDriverException e) {
+            System.out.println("Replay session could not be tagged: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Writes the recorded archive or stops the replay server at the end of the suite.
+    public static synchronized void shutdown() {
+        if (recorder != null) {
+            try {
+                recorder.close();
+            } catch (IOException e) {
+                System.out.println("Replay archive could not be written: " + e.getMessage());
+            }
+            recorder = null;
+        }
+        if (server != null) {
+            server.stop();
+            server = null;
+        }
+    }
+}
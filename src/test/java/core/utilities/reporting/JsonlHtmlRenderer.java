@@ -0,0 +1,109 @@
+package core.utilities.reporting;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+public class JsonlHtmlRenderer {
+    // Renders a results.jsonl stream to a single HTML page, line by line, so any stream size renders in
+    // constant memory. Counts are only known at the end, so the summary is the last section of the page.
+
+    // Args: results.jsonl, output html file.
+    public static void main(String[] args) throws IOException {
+        Path input = Paths.get(args[0]);
+        Path output = Paths.get(args[1]);
+        render(input, output);
+        System.out.println("Rendered " + input + " to " + output);
+    }
+
+    @SuppressWarnings("unchecked")
+    static void render(Path input, Path output) throws IOException {
+        Json json = new Json();
+        long passed = 0;
+        long failed = 0;
+        long skipped = 0;
+        long configFailures = 0;
+        long totalMillis = 0;
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+             Writer out = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            out.write("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>Test results</title><style>"
+                    + "body{font-family:sans-serif}table{border-collapse:collapse}td,th{border:1px solid #ccc;padding:2px 6px}"
+                    + ".PASS{background:#dfd}.FAIL{background:#fdd}.SKIP{background:#ffd}.step td{color:#666}"
+                    + "pre{white-space:pre-wrap;margin:0}</style></head><body><h1>Test results</h1><table>"
+                    + "<tr><th>Kind</th><th>Test</th><th>Status</th><th>Duration</th><th>Details</th></tr>\n");
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                Map<String, Object> record = json.toType(line, Json.MAP_TYPE);
+                String event = String.valueOf(record.get("event"));
+                String status = String.valueOf(record.get("status"));
+                switch (event) {
+                    case "test":
+                        passed += "PASS".equals(status) ? 1 : 0;
+                        failed += "FAIL".equals(status) ? 1 : 0;
+                        skipped += "SKIP".equals(status) ? 1 : 0;
+                        totalMillis += ((Number) record.get("durationMs")).longValue();
+                        out.write(row("test", record, status, details(record)));
+                        break;
+                    case "config":
+                        configFailures += "FAIL".equals(status) ? 1 : 0;
+                        out.write(row("config", record, status, details(record)));
+                        break;
+                    case "step":
+                        out.write("<tr class=\"step\"><td>step</td><td>" + escape(String.valueOf(record.get("step")))
+                                + "</td><td></td><td>" + record.get("durationMs") + " ms</td><td></td></tr>\n");
+                        break;
+                    default:
+                        out.write("<tr><td colspan=\"5\"><b>" + escape(event + " " + record.get("suite"))
+                                + "</b></td></tr>\n");
+                        break;
+                }
+            }
+            out.write("</table><h2>Summary</h2><p>passed=" + passed + ", failed=" + failed + ", skipped=" + skipped
+                    + ", configurationFailures=" + configFailures + ", testTime=" + totalMillis / 1000 + " s</p>"
+                    + "</body></html>\n");
+        }
+    }
+
+    private static String row(String kind, Map<String, Object> record, String status, String details) {
+        String className = String.valueOf(record.get("class"));
+        return "<tr class=\"" + escape(status) + "\"><td>" + kind + "</td><td>"
+                + escape(className.substring(className.lastIndexOf('.') + 1) + "." + record.get("method"))
+                + "</td><td>" + escape(status) + "</td><td>" + record.get("durationMs") + " ms</td><td>"
+                + details + "</td></tr>\n";
+    }
+
+    // Reporter output is already HTML (e.g. the failure artifact links); everything else is escaped.
+    @SuppressWarnings("unchecked")
+    private static String details(Map<String, Object> record) {
+        StringBuilder details = new StringBuilder();
+        if (record.get("parameters") != null) {
+            details.append(escape(String.valueOf(record.get("parameters")))).append("<br>");
+        }
+        if (record.get("output") != null) {
+            for (Object output : (List<Object>) record.get("output")) {
+                details.append(output).append("<br>");
+            }
+        }
+        if (record.get("stackTrace") != null) {
+            details.append("<details><summary>").append(escape(String.valueOf(record.get("failure"))))
+                    .append("</summary><pre>").append(escape(String.valueOf(record.get("stackTrace"))))
+                    .append("</pre></details>");
+        }
+        return details.toString();
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
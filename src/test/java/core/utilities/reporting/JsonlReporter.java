@@ -0,0 +1,218 @@
+package core.utilities.reporting;
+
+import core.utilities.ConfigurationReader;
+import core.utilities.history.ResultsHistoryListener;
+import core.utilities.metrics.CommandMetrics;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+import org.testng.IConfigurationListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+public class JsonlReporter implements ISuiteListener, ITestListener, IConfigurationListener {
+    // Streams one JSON line per test, page step and configuration method of a run to <reports>/results.jsonl as they
+    // finish, flushed every report.flush.millis. Nothing is kept per result, so memory stays flat however long
+    // the suite runs, and a killed JVM leaves every line written up to the last flush. JsonlHtmlRenderer turns
+    // the stream into HTML offline; the default TestNG reporters are switched off in the pom.
+    public static final String streamFile = "results.jsonl";
+    private static final int maxStackTraceChars = 8000;
+
+    private final Json json = new Json();
+    private final Object lock = new Object();
+    private Writer writer;
+    private ScheduledExecutorService flusher;
+
+    @Override
+    public void onStart(ISuite suite) {
+        synchronized (lock) {
+            if (writer == null) {
+                open(Paths.get(suite.getOutputDirectory()).getParent().resolve(streamFile));
+            }
+        }
+        Map<String, Object> record = record("suite-start");
+        record.put("suite", suite.getName());
+        write(record);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        Map<String, Object> record = record("suite-finish");
+        record.put("suite", suite.getName());
+        write(record);
+        synchronized (lock) {
+            flush();
+        }
+    }
+
+    private void open(Path file) {
+        try {
+            Files.createDirectories(file.getParent());
+            writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Result stream could not be opened: " + file, e);
+        }
+        long flushMillis = ConfigurationReader.getIntProperty("report.flush.millis", 1000);
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jsonl-report-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(() -> {
+            synchronized (lock) {
+                flush();
+            }
+        }, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            synchronized (lock) {
+                flush();
+            }
+        }));
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        writeTest(result, "PASS");
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        writeTest(result, "FAIL");
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        writeTest(result, "SKIP");
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        writeTest(result, "FAIL");
+    }
+
+    @Override
+    public void onConfigurationSuccess(ITestResult result) {
+        writeConfiguration(result, "PASS");
+    }
+
+    @Override
+    public void onConfigurationFailure(ITestResult result) {
+        writeConfiguration(result, "FAIL");
+    }
+
+    @Override
+    public void onConfigurationSkip(ITestResult result) {
+        writeConfiguration(result, "SKIP");
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeTest(ITestResult result, String status) {
+        Map<String, Object> record = resultRecord("test", result, status);
+        if (result.getParameters().length > 0) {
+            record.put("parameters", Arrays.stream(result.getParameters())
+                    .map(String::valueOf)
+                    .collect(Collectors.toList()));
+        }
+        Object timeToFirstCommand = result.getAttribute(CommandMetrics.timeToFirstCommandAttribute);
+        if (timeToFirstCommand != null) {
+            record.put("timeToFirstCommandMs", timeToFirstCommand);
+        }
+        List<String> output = Reporter.getOutput(result);
+        if (!output.isEmpty()) {
+            record.put("output", output);
+        }
+        write(record);
+        Object steps = result.getAttribute(ResultsHistoryListener.pageStepsAttribute);
+        if (steps instanceof Map) {
+            ((Map<String, Long>) steps).forEach((step, millis) -> {
+                Map<String, Object> stepRecord = record("step");
+                stepRecord.put("class", result.getTestClass().getName());
+                stepRecord.put("method", result.getMethod().getMethodName());
+                stepRecord.put("step", step);
+                stepRecord.put("durationMs", millis);
+                write(stepRecord);
+            });
+        }
+    }
+
+    private void writeConfiguration(ITestResult result, String status) {
+        write(resultRecord("config", result, status));
+    }
+
+    private Map<String, Object> resultRecord(String event, ITestResult result, String status) {
+        Map<String, Object> record = record(event);
+        record.put("class", result.getTestClass().getName());
+        record.put("method", result.getMethod().getMethodName());
+        record.put("status", status);
+        record.put("startMs", result.getStartMillis());
+        record.put("durationMs", result.getEndMillis() - result.getStartMillis());
+        record.put("thread", Thread.currentThread().getName());
+        Throwable failure = result.getThrowable();
+        if (failure != null) {
+            record.put("failure", failure.toString());
+            StringWriter stackTrace = new StringWriter();
+            failure.printStackTrace(new PrintWriter(stackTrace));
+            String trace = stackTrace.toString();
+            record.put("stackTrace", trace.length() > maxStackTraceChars ? trace.substring(0, maxStackTraceChars) : trace);
+        }
+        return record;
+    }
+
+    private static Map<String, Object> record(String event) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("event", event);
+        record.put("time", System.currentTimeMillis());
+        return record;
+    }
+
+    private void write(Map<String, Object> record) {
+        StringBuilder line = new StringBuilder();
+        try (JsonOutput out = json.newOutput(line).setPrettyPrint(false)) {
+            out.write(record);
+        }
+        line.append('\n');
+        synchronized (lock) {
+            if (writer == null) {
+                return;
+            }
+            try {
+                writer.write(line.toString());
+            } catch (IOException e) {
+                System.out.println("Result stream could not be written: " + e.getMessage());
+            }
+        }
+    }
+
+    private void flush() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            System.out.println("Result stream could not be flushed: " + e.getMessage());
+        }
+    }
+}
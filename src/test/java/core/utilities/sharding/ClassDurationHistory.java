@@ -0,0 +1,215 @@
+package core.utilities.sharding;
+
+import org.openqa.selenium.json.Json;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+public class ClassDurationHistory {
+    // Local store of how long each test class took, including its configuration methods, smoothed over runs.
+    // Every report is ingested once, keyed by a checksum of its content, so the same report is skipped on any host.
+    // Only the latest checksums are remembered; an older report is not offered again once newer runs replaced it.
+    private static final double smoothing = 0.5;
+    private static final int maxIngested = 200;
+    private static final String durationPrefix = "duration.";
+    private static final String ingestedPrefix = "ingested.";
+
+    private final Path file;
+    private final Properties properties = new Properties();
+
+    public ClassDurationHistory(Path file) throws IOException {
+        this.file = file;
+        if (Files.exists(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                properties.load(in);
+            }
+        }
+    }
+
+    public Map<String, Long> getDurations() {
+        Map<String, Long> durations = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(durationPrefix)) {
+                durations.put(key.substring(durationPrefix.length()), Long.parseLong(properties.getProperty(key)));
+            }
+        }
+        return durations;
+    }
+
+    // Median of the known classes, used for classes without history; the fallback when nothing is known.
+    public long estimate(long fallbackMillis) {
+        List<Long> known = new ArrayList<>(getDurations().values());
+        if (known.isEmpty()) {
+            return fallbackMillis;
+        }
+        Collections.sort(known);
+        return known.get(known.size() / 2);
+    }
+
+    // Reads a results.jsonl stream, testng-results.xml or JUnit report into the history;
+    // returns false when it was already ingested.
+    public boolean ingest(Path report) throws IOException {
+        if (!Files.exists(report)) {
+            return false;
+        }
+        CRC32 checksum = new CRC32();
+        checksum.update(Files.readAllBytes(report));
+        String ingestedKey = ingestedPrefix + Long.toHexString(checksum.getValue());
+        if (properties.containsKey(ingestedKey)) {
+            return false;
+        }
+        Map<String, Long> durations = parse(report);
+        durations.forEach(this::record);
+        properties.setProperty(ingestedKey, (lastIngested() + 1) + " " + report.getFileName());
+        pruneIngested();
+        return !durations.isEmpty();
+    }
+
+    // Ingested entries are "<sequence> <report name>"; entries without a sequence count as the oldest.
+    private static long sequence(String entry) {
+        try {
+            return Long.parseLong(entry.substring(0, Math.max(0, entry.indexOf(' '))));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private long lastIngested() {
+        long last = 0;
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(ingestedPrefix)) {
+                last = Math.max(last, sequence(properties.getProperty(key)));
+            }
+        }
+        return last;
+    }
+
+    private void pruneIngested() {
+        List<String> keys = new ArrayList<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(ingestedPrefix)) {
+                keys.add(key);
+            }
+        }
+        if (keys.size() <= maxIngested) {
+            return;
+        }
+        keys.sort(Comparator.comparingLong(key -> sequence(properties.getProperty(key))));
+        for (String key : keys.subList(0, keys.size() - maxIngested)) {
+            properties.remove(key);
+        }
+    }
+
+    public void record(String className, long millis) {
+        String key = durationPrefix + className;
+        String previous = properties.getProperty(key);
+        long smoothed = previous == null
+                ? millis
+                : Math.round(smoothing * millis + (1 - smoothing) * Long.parseLong(previous));
+        properties.setProperty(key, String.valueOf(smoothed));
+    }
+
+    public void save() throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (OutputStream out = Files.newOutputStream(file)) {
+            properties.store(out, "Test class durations in milliseconds, see ShardPlanner");
+        }
+    }
+
+    static Map<String, Long> parse(Path report) throws IOException {
+        if (report.getFileName().toString().endsWith(".jsonl")) {
+            return parseStream(report);
+        }
+        Document document = readXml(report);
+        Map<String, Long> durations = new HashMap<>();
+        Element root = document.getDocumentElement();
+        if (root.getTagName().equals("testng-results")) {
+            NodeList classes = root.getElementsByTagName("class");
+            for (int i = 0; i < classes.getLength(); i++) {
+                Element testClass = (Element) classes.item(i);
+                NodeList methods = testClass.getElementsByTagName("test-method");
+                long total = 0;
+                boolean complete = true;
+                for (int m = 0; m < methods.getLength(); m++) {
+                    Element method = (Element) methods.item(m);
+                    total += Long.parseLong(method.getAttribute("duration-ms"));
+                    complete &= !"SKIP".equals(method.getAttribute("status"));
+                }
+                if (!complete) {
+                    // Skipped methods took no time, so the class total would understate the next run.
+                    continue;
+                }
+                durations.merge(testClass.getAttribute("name"), total, Long::sum);
+            }
+        } else if (root.getTagName().equals("testsuite") && "0".equals(root.getAttribute("skipped"))) {
+            durations.put(root.getAttribute("name"), Math.round(Double.parseDouble(root.getAttribute("time")) * 1000));
+        }
+        return durations;
+    }
+
+    // Test and configuration records of a JsonlReporter stream, summed per class like the XML reports.
+    private static Map<String, Long> parseStream(Path report) throws IOException {
+        Json json = new Json();
+        Map<String, Long> durations = new HashMap<>();
+        Set<String> incomplete = new HashSet<>();
+        try (BufferedReader reader = Files.newBufferedReader(report, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                Map<String, Object> record = json.toType(line, Json.MAP_TYPE);
+                Object event = record.get("event");
+                if (!"test".equals(event) && !"config".equals(event)) {
+                    continue;
+                }
+                String className = String.valueOf(record.get("class"));
+                durations.merge(className, ((Number) record.get("durationMs")).longValue(), Long::sum);
+                if ("test".equals(event) && "SKIP".equals(record.get("status"))) {
+                    incomplete.add(className);
+                }
+            }
+        }
+        durations.keySet().removeAll(incomplete);
+        return durations;
+    }
+
+    static Document readXml(Path file) throws IOException {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            // Suite files reference the TestNG DTD online; it is not needed for reading them.
+            factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+            DocumentBuilder builder = factory.newDocumentBuilder();
+            try (InputStream in = Files.newInputStream(file)) {
+                return builder.parse(in);
+            }
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IOException("Report could not be parsed: " + file, e);
+        }
+    }
+}
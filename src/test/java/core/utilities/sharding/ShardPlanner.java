@@ -0,0 +1,123 @@
+package core.utilities.sharding;
+
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class ShardPlanner {
+    // Splits the test classes into shards of about equal duration: longest class first, always onto the shard
+    // with the least planned time. The plan only depends on the history file and the compiled classes,
+    // so every host computes the same shards and runs the one matching its shard.index.
+    private static final String testPackage = "core.tests";
+    private static final long defaultEstimateMillis = 60_000;
+
+    public record Shard(int index, List<String> classes, long plannedMillis) {
+    }
+
+    // Args: shard count, output directory, history file, test classes directory.
+    // The history is only read here; ShardReportMerger feeds it after a sharded run, so local leftovers
+    // of one host cannot change its plan.
+    public static void main(String[] args) throws IOException {
+        int shardCount = Integer.parseInt(args[0]);
+        Path outputDirectory = Paths.get(args[1]);
+        ClassDurationHistory history = new ClassDurationHistory(Paths.get(args[2]));
+        Path testClasses = Paths.get(args[3]);
+
+        List<Shard> shards = plan(findTestClasses(testClasses), history, shardCount);
+        Element baseSuite = ClassDurationHistory.readXml(Paths.get("testng.xml")).getDocumentElement();
+        Files.createDirectories(outputDirectory);
+        for (Shard shard : shards) {
+            Files.write(outputDirectory.resolve("shard-" + shard.index() + ".xml"),
+                    suiteXml(shard, shardCount, baseSuite).getBytes(StandardCharsets.UTF_8));
+            System.out.println("Shard " + shard.index() + ": planned " + shard.plannedMillis() / 1000 + " s, "
+                    + shard.classes());
+        }
+    }
+
+    static List<String> findTestClasses(Path testClasses) throws IOException {
+        Path packageDirectory = testClasses.resolve(testPackage.replace('.', '/'));
+        try (Stream<Path> files = Files.list(packageDirectory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(".class") && !name.contains("$"))
+                    .map(name -> testPackage + "." + name.substring(0, name.length() - ".class".length()))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    // Longest-processing-time-first bin packing; classes without history get the median of the known ones.
+    public static List<Shard> plan(List<String> classes, ClassDurationHistory history, int shardCount) {
+        Map<String, Long> durations = history.getDurations();
+        long estimate = history.estimate(defaultEstimateMillis);
+        List<String> ordered = new ArrayList<>(classes);
+        ordered.sort(Comparator.<String>comparingLong(name -> durations.getOrDefault(name, estimate))
+                .reversed()
+                .thenComparing(Comparator.naturalOrder()));
+
+        List<List<String>> assigned = new ArrayList<>();
+        long[] loads = new long[shardCount];
+        PriorityQueue<Integer> leastLoaded = new PriorityQueue<>(
+                Comparator.<Integer>comparingLong(index -> loads[index]).thenComparingInt(index -> index));
+        for (int i = 0; i < shardCount; i++) {
+            assigned.add(new ArrayList<>());
+            leastLoaded.add(i);
+        }
+        for (String className : ordered) {
+            int index = leastLoaded.poll();
+            assigned.get(index).add(className);
+            loads[index] += durations.getOrDefault(className, estimate);
+            leastLoaded.add(index);
+        }
+
+        List<Shard> shards = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new Shard(i, assigned.get(i), loads[i]));
+        }
+        return shards;
+    }
+
+    // Same parallel settings and listeners as testng.xml, restricted to the shard's classes.
+    private static String suiteXml(Shard shard, int shardCount, Element baseSuite) {
+        StringBuilder xml = new StringBuilder();
+        xml.append("<!DOCTYPE suite SYSTEM \"https://testng.org/testng-1.0.dtd\">\n");
+        xml.append("<!-- Shard ").append(shard.index()).append(" of ").append(shardCount)
+                .append(", planned ").append(shard.plannedMillis() / 1000).append(" s. Generated by ShardPlanner. -->\n");
+        xml.append("<suite name=\"Shard ").append(shard.index()).append("\"");
+        for (String attribute : new String[]{"parallel", "thread-count"}) {
+            if (baseSuite.hasAttribute(attribute)) {
+                xml.append(' ').append(attribute).append("=\"").append(baseSuite.getAttribute(attribute)).append('"');
+            }
+        }
+        xml.append(">\n");
+        NodeList listeners = baseSuite.getElementsByTagName("listener");
+        if (listeners.getLength() > 0) {
+            xml.append("    <listeners>\n");
+            for (int i = 0; i < listeners.getLength(); i++) {
+                xml.append("        <listener class-name=\"")
+                        .append(((Element) listeners.item(i)).getAttribute("class-name")).append("\"/>\n");
+            }
+            xml.append("    </listeners>\n");
+        }
+        xml.append("    <test name=\"Shard ").append(shard.index()).append("\">\n");
+        xml.append("        <classes>\n");
+        for (String className : shard.classes()) {
+            xml.append("            <class name=\"").append(className).append("\"/>\n");
+        }
+        xml.append("        </classes>\n");
+        xml.append("    </test>\n");
+        xml.append("</suite>\n");
+        return xml.toString();
+    }
+}
@@ -0,0 +1,186 @@
+package core.utilities.sharding;
+
+import core.utilities.reporting.JsonlReporter;
+import org.openqa.selenium.json.Json;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class ShardReportMerger {
+    // Merges the results.jsonl streams of every shard directory into one, summarizes the run from it and feeds the
+    // merged durations back into the shard history. testng-results.xml and junitreports are only merged when a shard
+    // wrote them, i.e. when it ran with the default TestNG reporters.
+    private static final String[] countAttributes = {"ignored", "total", "passed", "failed", "skipped"};
+
+    // Args: directory holding one report directory per shard, output directory, history file.
+    public static void main(String[] args) throws IOException {
+        Path shardReports = Paths.get(args[0]);
+        Path outputDirectory = Paths.get(args[1]);
+        List<Path> shardDirectories;
+        try (Stream<Path> directories = Files.list(shardReports)) {
+            shardDirectories = directories
+                    .filter(Files::isDirectory)
+                    .filter(directory -> !directory.toAbsolutePath().normalize()
+                            .equals(outputDirectory.toAbsolutePath().normalize()))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        Files.createDirectories(outputDirectory);
+        Path mergedStream = mergeStreams(shardDirectories, outputDirectory);
+        if (mergedStream != null) {
+            System.out.println("Merged " + shardDirectories.size() + " shard streams: " + summarize(mergedStream));
+        }
+        merge(shardDirectories, outputDirectory);
+
+        ClassDurationHistory history = new ClassDurationHistory(Paths.get(args[2]));
+        ingestReports(history, outputDirectory);
+        history.save();
+    }
+
+    // A report directory holds the results.jsonl stream, or testng-results.xml / JUnit reports from runs
+    // with the default TestNG reporters.
+    private static void ingestReports(ClassDurationHistory history, Path reportDirectory) throws IOException {
+        Path stream = reportDirectory.resolve(JsonlReporter.streamFile);
+        if (Files.exists(stream)) {
+            history.ingest(stream);
+            return;
+        }
+        Path testNgResults = reportDirectory.resolve("testng-results.xml");
+        if (Files.exists(testNgResults)) {
+            history.ingest(testNgResults);
+            return;
+        }
+        Path junitReports = reportDirectory.resolve("junitreports");
+        if (Files.isDirectory(junitReports)) {
+            try (Stream<Path> reports = Files.list(junitReports)) {
+                for (Path report : reports.filter(path -> path.toString().endsWith(".xml")).collect(Collectors.toList())) {
+                    history.ingest(report);
+                }
+            }
+        }
+    }
+
+    // Test counts of a merged stream; configuration records are not tests and are left out, like TestNG's totals.
+    static String summarize(Path stream) throws IOException {
+        Json json = new Json();
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (String status : new String[]{"PASS", "FAIL", "SKIP"}) {
+            counts.put(status, 0L);
+        }
+        try (BufferedReader reader = Files.newBufferedReader(stream, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                Map<String, Object> record = json.toType(line, Json.MAP_TYPE);
+                if ("test".equals(record.get("event"))) {
+                    counts.merge(String.valueOf(record.get("status")), 1L, Long::sum);
+                }
+            }
+        }
+        long total = counts.values().stream().mapToLong(Long::longValue).sum();
+        return "total=" + total + ", passed=" + counts.get("PASS") + ", failed=" + counts.get("FAIL")
+                + ", skipped=" + counts.get("SKIP");
+    }
+
+    // Copies the shards' junitreports and merges their testng-results.xml; null when no shard wrote one.
+    static Path merge(List<Path> shardDirectories, Path outputDirectory) throws IOException {
+        for (Path shardDirectory : shardDirectories) {
+            copyJunitReports(shardDirectory.resolve("junitreports"), outputDirectory.resolve("junitreports"));
+        }
+        if (shardDirectories.stream().noneMatch(directory -> Files.exists(directory.resolve("testng-results.xml")))) {
+            return null;
+        }
+        try {
+            Document mergedDocument = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+            Element mergedRoot = mergedDocument.createElement("testng-results");
+            long[] counts = new long[countAttributes.length];
+            mergedRoot.appendChild(mergedDocument.createElement("reporter-output"));
+            for (Path shardDirectory : shardDirectories) {
+                Path results = shardDirectory.resolve("testng-results.xml");
+                if (Files.exists(results)) {
+                    Element root = ClassDurationHistory.readXml(results).getDocumentElement();
+                    for (int i = 0; i < countAttributes.length; i++) {
+                        String value = root.getAttribute(countAttributes[i]);
+                        counts[i] += value.isEmpty() ? 0 : Long.parseLong(value);
+                    }
+                    NodeList suites = root.getElementsByTagName("suite");
+                    for (int i = 0; i < suites.getLength(); i++) {
+                        Node suite = mergedDocument.importNode(suites.item(i), true);
+                        mergedRoot.appendChild(suite);
+                    }
+                }
+            }
+            for (int i = 0; i < countAttributes.length; i++) {
+                mergedRoot.setAttribute(countAttributes[i], String.valueOf(counts[i]));
+            }
+            mergedDocument.appendChild(mergedRoot);
+
+            Path output = outputDirectory.resolve("testng-results.xml");
+            Transformer transformer = TransformerFactory.newInstance().newTransformer();
+            transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+            transformer.transform(new DOMSource(mergedDocument), new StreamResult(output.toFile()));
+            System.out.println("Merged " + shardDirectories.size() + " shard reports: total=" + counts[1]
+                    + ", passed=" + counts[2] + ", failed=" + counts[3] + ", skipped=" + counts[4]);
+            return output;
+        } catch (ParserConfigurationException | TransformerException e) {
+            throw new IOException("Shard reports could not be merged", e);
+        }
+    }
+
+    // Concatenates the shards' results.jsonl streams; null when no shard wrote one.
+    static Path mergeStreams(List<Path> shardDirectories, Path outputDirectory) throws IOException {
+        Path output = outputDirectory.resolve(JsonlReporter.streamFile);
+        boolean found = false;
+        try (OutputStream out = Files.newOutputStream(output)) {
+            for (Path shardDirectory : shardDirectories) {
+                Path stream = shardDirectory.resolve(JsonlReporter.streamFile);
+                if (Files.exists(stream)) {
+                    Files.copy(stream, out);
+                    found = true;
+                }
+            }
+        }
+        if (!found) {
+            Files.delete(output);
+            return null;
+        }
+        return output;
+    }
+
+    private static void copyJunitReports(Path from, Path to) throws IOException {
+        if (!Files.isDirectory(from)) {
+            return;
+        }
+        Files.createDirectories(to);
+        try (Stream<Path> reports = Files.list(from)) {
+            for (Path report : reports.collect(Collectors.toList())) {
+                Files.copy(report, to.resolve(report.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package core.utilities.webperf;
+
+import java.util.Map;
+
+// What the user experienced on one document: Navigation Timing milestones relative to navigation start,
+// largest contentful paint, cumulative layout shift (largest session window), long tasks and resource timing.
+public record PageMetrics(String page, String url, double ttfbMs, double domContentLoadedMs, double loadMs,
+                          double lcpMs, double cls, int longTasks, double longTaskMs, int resources,
+                          long transferBytes) {
+
+    static PageMetrics fromScript(String page, Map<String, Object> values) {
+        return new PageMetrics(page, String.valueOf(values.get("url")),
+                number(values, "ttfb"), number(values, "domContentLoaded"), number(values, "load"),
+                number(values, "lcp"), number(values, "cls"), (int) number(values, "longTasks"),
+                number(values, "longTaskMs"), (int) number(values, "resources"),
+                (long) number(values, "transferBytes"));
+    }
+
+    private static double number(Map<String, Object> values, String name) {
+        Object value = values.get(name);
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+
+    // Value of a budgeted metric by its configuration name.
+    public double metric(String name) {
+        switch (name) {
+            case "ttfb":
+                return ttfbMs;
+            case "domContentLoaded":
+                return domContentLoadedMs;
+            case "load":
+                return loadMs;
+            case "lcp":
+                return lcpMs;
+            case "cls":
+                return cls;
+            case "longTaskMs":
+                return longTaskMs;
+            case "transferKb":
+                return transferBytes / 1024.0;
+            default:
+                throw new IllegalArgumentException("Unknown web performance metric: " + name);
+        }
+    }
+
+    public String format() {
+        return String.format("%s %s: ttfb=%.0fms dcl=%.0fms load=%.0fms lcp=%.0fms cls=%.3f longTasks=%d (%.0fms) resources=%d transferKb=%d",
+                page, url, ttfbMs, domContentLoadedMs, loadMs, lcpMs, cls, longTasks, longTaskMs, resources,
+                transferBytes / 1024);
+    }
+}
@@ -0,0 +1,64 @@
+package core.utilities.webperf;
+
+import core.utilities.ConfigurationReader;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+public class PerformanceBudgets {
+    // Pages are named by URL: webperf.page.<name>=<regex on path and query>, first match in key order wins.
+    // Budgets: webperf.budget.<name>.<metric>=<limit>, falling back to webperf.budget.<metric> for every page.
+    private static final PerformanceBudgets budgets = new PerformanceBudgets(
+            ConfigurationReader.getPropertiesWithPrefix("webperf.page."),
+            ConfigurationReader.getPropertiesWithPrefix("webperf.budget."));
+
+    private final Map<String, Pattern> pages = new LinkedHashMap<>();
+    private final Map<String, Double> limits = new LinkedHashMap<>();
+
+    PerformanceBudgets(Map<String, String> pagePatterns, Map<String, String> budgetLimits) {
+        pagePatterns.forEach((name, pattern) -> pages.put(name, Pattern.compile(pattern.trim())));
+        budgetLimits.forEach((key, limit) -> limits.put(key, Double.parseDouble(limit.trim())));
+    }
+
+    public static PerformanceBudgets getBudgets() {
+        return budgets;
+    }
+
+    public String pageFor(String url) {
+        for (Map.Entry<String, Pattern> page : pages.entrySet()) {
+            if (page.getValue().matcher(url).find()) {
+                return page.getKey();
+            }
+        }
+        return "other";
+    }
+
+    // Every budget the navigation exceeded, e.g. "cart lcp 5230 > 4000".
+    public List<String> violations(PageMetrics metrics) {
+        List<String> violations = new ArrayList<>();
+        for (Map.Entry<String, Double> limit : limits.entrySet()) {
+            String key = limit.getKey();
+            String metric;
+            if (key.startsWith(metrics.page() + ".")) {
+                metric = key.substring(metrics.page().length() + 1);
+            } else if (key.indexOf('.') < 0 && !limits.containsKey(metrics.page() + "." + key)) {
+                metric = key;
+            } else {
+                continue;
+            }
+            double value = metrics.metric(metric);
+            if (value > limit.getValue()) {
+                violations.add(String.format("%s %s %s > %s", metrics.page(), metric,
+                        format(value), format(limit.getValue())));
+            }
+        }
+        return violations;
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.format("%.3f", value);
+    }
+}
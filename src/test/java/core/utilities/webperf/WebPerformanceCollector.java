@@ -0,0 +1,160 @@
+package core.utilities.webperf;
+
+import core.utilities.DevToolsSessions;
+import core.utilities.ConfigurationReader;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.v125.page.Page;
+import org.openqa.selenium.devtools.v125.performance.Performance;
+import org.openqa.selenium.devtools.v125.performance.model.Metric;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class WebPerformanceCollector {
+    // Measures every top-level document a session loads, whether it was opened with get() or by a click.
+    // A script added through the DevTools Page domain starts PerformanceObservers before the storefront's own
+    // scripts run; when the document is left it appends its final numbers to sessionStorage, where collect()
+    // picks them up together with the document still open. The Performance domain adds main-thread time.
+    private static final boolean enabled = Boolean.parseBoolean(
+            ConfigurationReader.getProperty("webperf.enabled", "false").trim());
+    private static final DevToolsSessions<WebPerformanceCollector> collectors =
+            DevToolsSessions.register(WebPerformanceCollector::attach);
+    private static final String storageKey = "__webPerf";
+    // Test result attribute holding the WebPerformanceReport of the test.
+    public static final String reportAttribute = "webPerformance";
+
+    private static final String observerScript = "(function () {"
+            + "  if (window.top !== window || window.__webPerf) { return; }"
+            + "  var state = {lcp: 0, cls: 0, longTasks: 0, longTaskMs: 0, collected: false};"
+            + "  var observe = function (type, callback) {"
+            + "    try { new PerformanceObserver(function (list) { list.getEntries().forEach(callback); })"
+            + "      .observe({type: type, buffered: true}); } catch (e) {}"
+            + "  };"
+            + "  observe('largest-contentful-paint', function (entry) { state.lcp = entry.renderTime || entry.loadTime || entry.startTime; });"
+            // Layout shifts are grouped into session windows (gaps under 1s, at most 5s); CLS is the largest window.
+            + "  var windowValue = 0, windowFirst = 0, windowLast = 0;"
+            + "  observe('layout-shift', function (entry) {"
+            + "    if (entry.hadRecentInput) { return; }"
+            + "    if (windowValue > 0 && entry.startTime - windowLast < 1000 && entry.startTime - windowFirst < 5000) {"
+            + "      windowValue += entry.value;"
+            + "    } else { windowValue = entry.value; windowFirst = entry.startTime; }"
+            + "    windowLast = entry.startTime;"
+            + "    state.cls = Math.max(state.cls, windowValue);"
+            + "  });"
+            + "  observe('longtask', function (entry) { state.longTasks++; state.longTaskMs += entry.duration; });"
+            + "  state.snapshot = function () {"
+            + "    var navigation = performance.getEntriesByType('navigation')[0] || {}, transfer = 0;"
+            + "    var resources = performance.getEntriesByType('resource');"
+            + "    resources.forEach(function (resource) { transfer += resource.transferSize || 0; });"
+            + "    return {url: location.pathname + location.search, ttfb: navigation.responseStart || 0,"
+            + "      domContentLoaded: navigation.domContentLoadedEventEnd || 0, load: navigation.loadEventEnd || 0,"
+            + "      lcp: state.lcp, cls: state.cls, longTasks: state.longTasks, longTaskMs: state.longTaskMs,"
+            + "      resources: resources.length, transferBytes: transfer + (navigation.transferSize || 0)};"
+            + "  };"
+            + "  window.addEventListener('pagehide', function () {"
+            + "    if (state.collected) { return; }"
+            + "    try {"
+            + "      var finished = JSON.parse(sessionStorage.getItem('" + storageKey + "') || '[]');"
+            + "      finished.push(state.snapshot());"
+            + "      sessionStorage.setItem('" + storageKey + "', JSON.stringify(finished));"
+            + "    } catch (e) {}"
+            + "  });"
+            + "  window.__webPerf = state;"
+            + "})();";
+
+    // Marks the open document as seen (it was loaded before the test started) and drops older documents.
+    private static final String startScript =
+            "try { sessionStorage.removeItem('" + storageKey + "'); } catch (e) {}"
+                    + "if (window.__webPerf) { window.__webPerf.collected = true; }";
+
+    private static final String collectScript =
+            "var documents = [];"
+                    + "try { documents = JSON.parse(sessionStorage.getItem('" + storageKey + "') || '[]');"
+                    + "  sessionStorage.removeItem('" + storageKey + "'); } catch (e) {}"
+                    + "if (window.__webPerf && !window.__webPerf.collected) {"
+                    + "  documents.push(window.__webPerf.snapshot()); window.__webPerf.collected = true;"
+                    + "}"
+                    + "return documents;";
+
+    private final DevTools devTools;
+    private final Map<String, Double> mainThreadBaseline = new HashMap<>();
+
+    private WebPerformanceCollector(DevTools devTools) {
+        this.devTools = devTools;
+    }
+
+    // Null when collection is disabled (webperf.enabled) or the session has no DevTools.
+    public static WebPerformanceCollector forDriver(WebDriver driver) {
+        return enabled ? collectors.forDriver(driver) : null;
+    }
+
+    private static WebPerformanceCollector attach(WebDriver driver) {
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            devTools.send(Page.enable());
+            devTools.send(Page.addScriptToEvaluateOnNewDocument(observerScript,
+                    Optional.empty(), Optional.empty(), Optional.empty()));
+            devTools.send(Performance.enable(Optional.empty()));
+            return new WebPerformanceCollector(devTools);
+        } catch (WebDriverException e) {
+            System.out.println("Web performance collection is not available: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Starts a measurement window, called when a test leases the session.
+    public void start(WebDriver driver) {
+        try {
+            ((JavascriptExecutor) driver).executeScript(startScript);
+        } catch (WebDriverException ignored) {
+            // Pages without storage access (about:blank, error pages) have nothing buffered.
+        }
+        mainThreadBaseline.clear();
+        mainThreadBaseline.putAll(mainThreadSeconds());
+    }
+
+    // Every document loaded since start(), including the one still open, plus main-thread time of the window.
+    @SuppressWarnings("unchecked")
+    public WebPerformanceReport collect(WebDriver driver) {
+        List<PageMetrics> navigations = new ArrayList<>();
+        try {
+            List<Map<String, Object>> documents = (List<Map<String, Object>>) ((JavascriptExecutor) driver)
+                    .executeScript(collectScript);
+            for (Map<String, Object> document : documents == null ? Collections.<Map<String, Object>>emptyList() : documents) {
+                String url = String.valueOf(document.get("url"));
+                navigations.add(PageMetrics.fromScript(PerformanceBudgets.getBudgets().pageFor(url), document));
+            }
+        } catch (WebDriverException e) {
+            System.out.println("Web performance metrics could not be read: " + e.getMessage());
+        }
+        Map<String, Double> now = mainThreadSeconds();
+        return new WebPerformanceReport(navigations,
+                deltaMillis(now, "TaskDuration"), deltaMillis(now, "ScriptDuration"), deltaMillis(now, "LayoutDuration"));
+    }
+
+    private double deltaMillis(Map<String, Double> now, String metric) {
+        return Math.max(0, now.getOrDefault(metric, 0.0) - mainThreadBaseline.getOrDefault(metric, 0.0)) * 1000;
+    }
+
+    // Cumulative main-thread durations of the renderer, in seconds.
+    private Map<String, Double> mainThreadSeconds() {
+        Map<String, Double> seconds = new HashMap<>();
+        try {
+            for (Metric metric : devTools.send(Performance.getMetrics())) {
+                seconds.put(metric.getName(), metric.getValue().doubleValue());
+            }
+        } catch (WebDriverException e) {
+            System.out.println("DevTools performance metrics could not be read: " + e.getMessage());
+        }
+        return seconds;
+    }
+}
@@ -0,0 +1,26 @@
+package core.utilities.webperf;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Web performance of one test: every navigation it made and the renderer's main-thread time meanwhile.
+public record WebPerformanceReport(List<PageMetrics> navigations, double taskMs, double scriptMs, double layoutMs) {
+
+    public List<String> budgetViolations(PerformanceBudgets budgets) {
+        List<String> violations = new ArrayList<>();
+        for (PageMetrics navigation : navigations) {
+            violations.addAll(budgets.violations(navigation));
+        }
+        return violations;
+    }
+
+    public String format() {
+        StringBuilder report = new StringBuilder(String.format(
+                "Web performance: navigations=%d, mainThreadTaskMs=%.0f, scriptMs=%.0f, layoutMs=%.0f",
+                navigations.size(), taskMs, scriptMs, layoutMs));
+        for (PageMetrics navigation : navigations) {
+            report.append("\n  ").append(navigation.format());
+        }
+        return report.toString();
+    }
+}